@@ -0,0 +1,8 @@
+#!/bin/sh
+# One-shot CLI runs use the slim AOT-processed cli context; REST and polling modes start the full WebFlux app.
+if [ "${SPRING_AUTOSTART_PARSE:-true}" = "true" ] && [ "${SPRING_PARSER_POLL_ENABLED:-false}" = "false" ]; then
+  exec java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true $JAVA_OPTS \
+    -jar parser-1.0.jar --spring.profiles.active=cli "$@"
+fi
+
+exec java -XX:SharedArchiveFile=app.jsa $JAVA_OPTS -jar parser-1.0.jar "$@"
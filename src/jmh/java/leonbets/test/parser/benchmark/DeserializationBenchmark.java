@@ -0,0 +1,85 @@
+package leonbets.test.parser.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leonbets.test.parser.client.MarketEnvelopeDecoder;
+import leonbets.test.parser.config.JacksonConfig;
+import leonbets.test.parser.entity.EventEnvelope;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.entity.Sport;
+import leonbets.test.parser.metrics.ParserMetrics;
+import leonbets.test.parser.selection.SelectionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeserializationBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final TypeReference<List<Sport>> SPORTS_TYPE = new TypeReference<>() {
+    };
+
+    private ObjectMapper objectMapper;
+    private MarketEnvelopeDecoder marketDecoder;
+    private byte[] sports;
+    private byte[] events;
+    private byte[] markets;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        marketDecoder = new MarketEnvelopeDecoder(objectMapper, new ParserMetrics(new SimpleMeterRegistry()),
+                new SelectionIndex());
+        sports = Fixtures.load(Fixtures.SPORTS);
+        events = Fixtures.load(Fixtures.EVENTS);
+        markets = Fixtures.load(Fixtures.MARKETS);
+    }
+
+    @Benchmark
+    public List<Sport> sports() throws IOException {
+        return objectMapper.readValue(sports, SPORTS_TYPE);
+    }
+
+    @Benchmark
+    public EventEnvelope events() throws IOException {
+        return objectMapper.readValue(events, EventEnvelope.class);
+    }
+
+    @Benchmark
+    public MarketEnvelope marketsDatabind() throws IOException {
+        return objectMapper.readValue(markets, MarketEnvelope.class);
+    }
+
+    @Benchmark
+    public MarketEnvelope marketsStreaming() {
+        return marketDecoder.decode(chunks(markets)).block();
+    }
+
+    private static Flux<DataBuffer> chunks(byte[] body) {
+        return Flux.range(0, (body.length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                .map(index -> DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(
+                        body, index * CHUNK_SIZE, Math.min(body.length, (index + 1) * CHUNK_SIZE))));
+    }
+}
@@ -0,0 +1,26 @@
+package leonbets.test.parser.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+final class Fixtures {
+
+    static final String SPORTS = "fixtures/sports.json";
+    static final String EVENTS = "fixtures/events.json";
+    static final String MARKETS = "fixtures/markets.json";
+
+    private Fixtures() {
+    }
+
+    static byte[] load(String name) {
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture not found: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package leonbets.test.parser.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import leonbets.test.parser.config.JacksonConfig;
+import leonbets.test.parser.dto.EventView;
+import leonbets.test.parser.entity.EventEnvelope;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.output.OutputFormat;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes and decodes every recorded event in each output format as length-prefixed frames, the layout
+ * {@code FileOutputSink} writes. {@code json} is the {@code EventView} Jackson encoding served over NDJSON; the
+ * encoded size of each combination is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutputFormatBenchmark {
+
+    @Param({"text", "json", "smile", "cbor"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    private List<LeonbetsPrinter> printers;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        EventEnvelope events = objectMapper.readValue(Fixtures.load(Fixtures.EVENTS), EventEnvelope.class);
+        MarketEnvelope markets = objectMapper.readValue(Fixtures.load(Fixtures.MARKETS), MarketEnvelope.class);
+        printers = events.events().stream()
+                .map(event -> new LeonbetsPrinter("Football", "England", "Premier League", event, markets))
+                .toList();
+
+        ObjectMapper mapper = switch (format) {
+            case "text" -> null;
+            case "json" -> objectMapper;
+            default -> OutputFormat.of(format).mapper(objectMapper);
+        };
+        if (mapper != null) {
+            writer = mapper.writerFor(EventView.class);
+            reader = mapper.readerFor(EventView.class);
+        }
+        encoded = encode();
+        System.out.printf("%n%s/%s: %d events, %d bytes%n", format, compression, printers.size(), encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        try (DataOutputStream out = new DataOutputStream(compress(bytes))) {
+            for (LeonbetsPrinter printer : printers) {
+                byte[] record = writer == null
+                        ? printer.generateFormattedOutput().getBytes(StandardCharsets.UTF_8)
+                        : writer.writeValueAsBytes(EventView.from(printer));
+                out.writeInt(record.length);
+                out.write(record);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) throws IOException {
+        try (DataInputStream in = new DataInputStream(decompress(new ByteArrayInputStream(encoded)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                blackhole.consume(reader == null
+                        ? new String(record, StandardCharsets.UTF_8)
+                        : reader.readValue(record));
+            }
+        }
+    }
+
+    private OutputStream compress(OutputStream out) throws IOException {
+        return "gzip".equals(compression) ? new GZIPOutputStream(out, 64 * 1024) : out;
+    }
+
+    private InputStream decompress(InputStream in) throws IOException {
+        return "gzip".equals(compression) ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+}
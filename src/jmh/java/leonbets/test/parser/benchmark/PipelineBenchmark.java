@@ -0,0 +1,85 @@
+package leonbets.test.parser.benchmark;
+
+import leonbets.test.parser.ParserApplication;
+import leonbets.test.parser.util.LeonbetsParser;
+import leonbets.test.parser.util.LeonbetsParserReactive;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PipelineBenchmark {
+
+    @Param({"0", "20"})
+    private long latencyMillis;
+
+    @Param({"0"})
+    private double errorRate;
+
+    @Param({"0"})
+    private double slowRate;
+
+    @Param({"500"})
+    private long slowMillis;
+
+    private StubLeonbetsServer server;
+    private ConfigurableApplicationContext context;
+    private LeonbetsParser parser;
+    private LeonbetsParserReactive reactiveParser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new StubLeonbetsServer(latencyMillis, errorRate, slowRate, slowMillis);
+        context = new SpringApplicationBuilder(ParserApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.parser.url.base=" + server.baseUrl(),
+                        "--spring.autostart.parse=false",
+                        "--spring.parser.store.refresh.enabled=false",
+                        "--spring.parser.cache.sports.max.entries=0",
+                        "--spring.parser.cache.events.max.entries=0",
+                        "--spring.parser.cache.markets.max.entries=0",
+                        "--logging.level.root=WARN");
+        parser = context.getBean(LeonbetsParser.class);
+        reactiveParser = context.getBean(LeonbetsParserReactive.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        server.close();
+    }
+
+    @Benchmark
+    public void blocking(Blackhole blackhole) {
+        parser.parse(blackhole::consume);
+    }
+
+    @Benchmark
+    public void reactive(Blackhole blackhole) {
+        reactiveParser.parse()
+                .doOnNext(blackhole::consume)
+                .blockLast();
+    }
+}
@@ -0,0 +1,44 @@
+package leonbets.test.parser.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import leonbets.test.parser.config.JacksonConfig;
+import leonbets.test.parser.entity.EventEnvelope;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrinterBenchmark {
+
+    private LeonbetsPrinter printer;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        EventEnvelope events = objectMapper.readValue(Fixtures.load(Fixtures.EVENTS), EventEnvelope.class);
+        MarketEnvelope markets = objectMapper.readValue(Fixtures.load(Fixtures.MARKETS), MarketEnvelope.class);
+        printer = new LeonbetsPrinter("Football", "England", "Premier League", events.events().getFirst(), markets);
+    }
+
+    @Benchmark
+    public String generateFormattedOutput() {
+        return printer.generateFormattedOutput();
+    }
+}
@@ -0,0 +1,72 @@
+package leonbets.test.parser.benchmark;
+
+import leonbets.test.parser.ParserApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold context startup: every fork boots the application exactly once, so the score is what a cron-driven
+ * CLI run pays before the first request. {@code cli-aot} needs the AOT classes from {@code process-aot},
+ * which the {@code verify} phase produces before the benchmarks run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    @Param({"web", "cli", "cli-aot"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("cli-aot".equals(mode)) {
+            System.setProperty("spring.aot.enabled", "true");
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.autostart.parse=false",
+                "--spring.parser.store.refresh.enabled=false",
+                "--logging.level.root=WARN"));
+        if ("web".equals(mode)) {
+            args.add("--server.port=0");
+        } else {
+            args.add("--spring.profiles.active=" + ParserApplication.CLI_PROFILE);
+        }
+        context = new SpringApplicationBuilder(ParserApplication.class)
+                .main(ParserApplication.class)
+                .run(args.toArray(String[]::new));
+        return context;
+    }
+}
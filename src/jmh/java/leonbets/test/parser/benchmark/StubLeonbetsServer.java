@@ -0,0 +1,65 @@
+package leonbets.test.parser.benchmark;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class StubLeonbetsServer implements AutoCloseable {
+
+    private final DisposableServer server;
+    private final byte[] sports = Fixtures.load(Fixtures.SPORTS);
+    private final byte[] events = Fixtures.load(Fixtures.EVENTS);
+    private final byte[] markets = Fixtures.load(Fixtures.MARKETS);
+    private final Duration latency;
+    private final double errorRate;
+    private final double slowRate;
+    private final Duration slowLatency;
+
+    StubLeonbetsServer(long latencyMillis) {
+        this(latencyMillis, 0, 0, 0);
+    }
+
+    StubLeonbetsServer(long latencyMillis, double errorRate, double slowRate, long slowMillis) {
+        this.latency = Duration.ofMillis(latencyMillis);
+        this.errorRate = errorRate;
+        this.slowRate = slowRate;
+        this.slowLatency = Duration.ofMillis(slowMillis);
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .get("/api-2/betline/sports", (request, response) -> respond(response, sports))
+                        .get("/api-2/betline/events/all", (request, response) -> respond(response, events))
+                        .get("/api-2/betline/event/all", (request, response) -> respond(response, markets)))
+                .bindNow();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    private Mono<Void> respond(HttpServerResponse response, byte[] body) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            return response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send();
+        }
+        Duration delay = slowRate > 0 && random.nextDouble() < slowRate ? slowLatency : latency;
+        Mono<Void> send = response
+                .header("Content-Type", "application/json")
+                .header("Content-Length", String.valueOf(body.length))
+                .send(Mono.fromSupplier(() -> Unpooled.wrappedBuffer(body)))
+                .then();
+        return delay.isZero() ? send : Mono.delay(delay).then(send);
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+}
@@ -2,12 +2,20 @@ package leonbets.test.parser;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Profiles;
 
 @SpringBootApplication
 public class ParserApplication {
 
+    public static final String CLI_PROFILE = "cli";
+
     public static void main(String[] args) {
-        SpringApplication.run(ParserApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(ParserApplication.class, args);
+        // The cli profile has no server to keep the JVM alive, so exit as soon as the one-shot parse is done.
+        if (context.getEnvironment().acceptsProfiles(Profiles.of(CLI_PROFILE))) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
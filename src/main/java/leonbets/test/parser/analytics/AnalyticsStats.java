@@ -0,0 +1,11 @@
+package leonbets.test.parser.analytics;
+
+public record AnalyticsStats(
+        int events,
+        long runnerUpdates,
+        long moveAlerts,
+        long suspensionAlerts,
+        long droppedAlerts,
+        long evictedEvents
+) {
+}
@@ -0,0 +1,30 @@
+package leonbets.test.parser.analytics;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Markets of one event, keyed by market id so same-named lines (several totals or handicaps) stay separate books.
+ * Guarded by its own monitor, so a one-event query or update only locks that event.
+ */
+final class EventAggregate {
+
+    final Long eventId;
+    final Map<Long, MarketAggregate> markets = new TreeMap<>();
+
+    String sportName;
+    String leagueName;
+    String eventName;
+    long generation;
+    long lastObserved;
+
+    EventAggregate(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    MarketAggregate market(Long marketId, String marketName) {
+        MarketAggregate market = markets.computeIfAbsent(marketId, id -> new MarketAggregate(this, id));
+        market.marketName = marketName;
+        return market;
+    }
+}
@@ -0,0 +1,130 @@
+package leonbets.test.parser.analytics;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Running aggregates of one market. Each runner update adjusts the implied probability sum by the difference of
+ * the old and new price; min/max are rescanned only when the current extreme itself moves inwards or closes.
+ * Runners carry the generation of the envelope that last listed them, so runners missing from a new envelope are
+ * closed without comparing lists. Not thread-safe, callers hold the owning {@link EventAggregate}.
+ */
+final class MarketAggregate {
+
+    private final EventAggregate event;
+    private final Long marketId;
+    String marketName;
+
+    private final Map<Long, RunnerState> runners = new HashMap<>(8);
+    long generation;
+    private double impliedSum;
+    private double minPrice = Double.NaN;
+    private double maxPrice = Double.NaN;
+    private long updates;
+    private long lastChange;
+
+    MarketAggregate(EventAggregate event, Long marketId) {
+        this.event = event;
+        this.marketId = marketId;
+    }
+
+    /**
+     * Sets the runner's open price, or closes it when {@code price} is {@code NaN}, and returns the previous open
+     * price ({@code NaN} when the runner was not open). An unchanged price only refreshes the generation.
+     */
+    double update(Long runnerId, double price, long generation, long timestamp) {
+        RunnerState state = runners.get(runnerId);
+        if (state == null) {
+            if (!Double.isNaN(price)) {
+                runners.put(runnerId, new RunnerState(price, generation));
+                changed(Double.NaN, price, timestamp);
+            }
+            return Double.NaN;
+        }
+        double was = state.price;
+        if (Double.isNaN(price)) {
+            runners.remove(runnerId);
+        } else {
+            state.generation = generation;
+            if (price == was) {
+                return was;
+            }
+            state.price = price;
+        }
+        changed(was, price, timestamp);
+        return was;
+    }
+
+    /**
+     * Closes every runner not listed in {@code generation}; returns how many were closed.
+     */
+    int closeUnseen(long generation, long timestamp) {
+        int closed = 0;
+        for (Iterator<RunnerState> it = runners.values().iterator(); it.hasNext(); ) {
+            if (it.next().generation != generation) {
+                it.remove();
+                closed++;
+            }
+        }
+        if (closed > 0) {
+            updates += closed;
+            lastChange = timestamp;
+            rescan();
+        }
+        return closed;
+    }
+
+    int openRunners() {
+        return runners.size();
+    }
+
+    Long marketId() {
+        return marketId;
+    }
+
+    MarketStats stats() {
+        boolean open = !runners.isEmpty();
+        double overround = open ? impliedSum : 0;
+        return new MarketStats(event.eventId, event.sportName, event.leagueName, event.eventName, marketId,
+                marketName, runners.size(), overround, open ? overround - 1 : 0, open ? minPrice : null,
+                open ? maxPrice : null, updates, lastChange);
+    }
+
+    private void changed(double was, double price, long timestamp) {
+        updates++;
+        lastChange = timestamp;
+        if (!Double.isNaN(was)) {
+            impliedSum -= 1 / was;
+        }
+        if (!Double.isNaN(price)) {
+            impliedSum += 1 / price;
+            minPrice = Double.isNaN(minPrice) ? price : Math.min(minPrice, price);
+            maxPrice = Double.isNaN(maxPrice) ? price : Math.max(maxPrice, price);
+        }
+        if ((was == minPrice && !(price <= was)) || (was == maxPrice && !(price >= was))) {
+            rescan();
+        }
+    }
+
+    private void rescan() {
+        impliedSum = 0;
+        minPrice = Double.NaN;
+        maxPrice = Double.NaN;
+        for (RunnerState state : runners.values()) {
+            impliedSum += 1 / state.price;
+            minPrice = Double.isNaN(minPrice) ? state.price : Math.min(minPrice, state.price);
+            maxPrice = Double.isNaN(maxPrice) ? state.price : Math.max(maxPrice, state.price);
+        }
+    }
+
+    private static final class RunnerState {
+        private double price;
+        private long generation;
+
+        private RunnerState(double price, long generation) {
+            this.price = price;
+            this.generation = generation;
+        }
+    }
+}
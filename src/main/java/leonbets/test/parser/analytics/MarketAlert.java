@@ -0,0 +1,20 @@
+package leonbets.test.parser.analytics;
+
+public record MarketAlert(
+        Type type,
+        long timestamp,
+        Long eventId,
+        String eventName,
+        Long marketId,
+        String marketName,
+        Long runnerId,
+        String runnerName,
+        Double previousPrice,
+        Double price,
+        Double change
+) {
+    public enum Type {
+        MOVE,
+        SUSPENDED
+    }
+}
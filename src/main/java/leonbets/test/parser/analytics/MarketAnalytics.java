@@ -0,0 +1,217 @@
+package leonbets.test.parser.analytics;
+
+import leonbets.test.parser.entity.Market;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.snapshot.DecimalOdds;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-market overround, implied probability and price range, updated from every market envelope the parsers,
+ * the store refresher and the refresh scheduler receive. Each listed runner costs one map lookup, and only runners
+ * whose price moved touch the aggregates, so the work per crawl stays proportional to the line size.
+ */
+@Component
+@Slf4j
+public class MarketAnalytics {
+
+    private static final double[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000,
+            10_000_000, 100_000_000, 1_000_000_000};
+    private static final long EVICTION_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final Comparator<MarketStats> BY_MARKET = Comparator
+            .comparing(MarketStats::marketName, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(MarketStats::marketId);
+
+    @Value("${spring.parser.analytics.move.threshold:0.1}")
+    private double moveThreshold;
+
+    @Value("${spring.parser.analytics.idle.minutes:30}")
+    private long idleMinutes;
+
+    private final Map<Long, EventAggregate> events = new ConcurrentHashMap<>();
+    private final Sinks.Many<MarketAlert> alerts = Sinks.unsafe().many().multicast().directBestEffort();
+    private final AtomicLong nextEviction = new AtomicLong();
+    private final LongAdder runnerUpdates = new LongAdder();
+    private final LongAdder moveAlerts = new LongAdder();
+    private final LongAdder suspensionAlerts = new LongAdder();
+    private final LongAdder droppedAlerts = new LongAdder();
+    private final LongAdder evictedEvents = new LongAdder();
+
+    public MarketAnalytics() {
+    }
+
+    public MarketAnalytics(double moveThreshold, long idleMinutes) {
+        this.moveThreshold = moveThreshold;
+        this.idleMinutes = idleMinutes;
+    }
+
+    public void observe(LeonbetsPrinter printer) {
+        observe(printer, System.currentTimeMillis());
+    }
+
+    public void observe(LeonbetsPrinter printer, long timestamp) {
+        MarketEnvelope envelope = printer.getMarketEnvelope();
+        if (envelope == null || envelope.markets() == null) {
+            return;
+        }
+        EventAggregate event = events.computeIfAbsent(printer.getEvent().id(), EventAggregate::new);
+        List<MarketAlert> raised = new ArrayList<>();
+        synchronized (event) {
+            event.sportName = printer.getSportName();
+            event.leagueName = printer.getLeagueName();
+            event.eventName = printer.getEvent().name();
+            event.lastObserved = timestamp;
+            long generation = ++event.generation;
+
+            for (Market market : envelope.markets()) {
+                if (market.id() != null) {
+                    observe(event, market, generation, timestamp, raised);
+                }
+            }
+            for (MarketAggregate market : event.markets.values()) {
+                if (market.generation != generation) {
+                    close(event, market, generation, timestamp, raised);
+                }
+            }
+        }
+        if (!raised.isEmpty()) {
+            publish(raised);
+        }
+        evictIdle(timestamp);
+    }
+
+    public Flux<MarketAlert> alerts() {
+        return alerts.asFlux();
+    }
+
+    public List<MarketStats> markets(Long eventId) {
+        if (eventId != null) {
+            EventAggregate event = events.get(eventId);
+            return event == null ? List.of() : stats(event);
+        }
+        return events.values().stream()
+                .sorted(Comparator.comparing(event -> event.eventId))
+                .flatMap(event -> stats(event).stream())
+                .toList();
+    }
+
+    public AnalyticsStats stats() {
+        return new AnalyticsStats(events.size(), runnerUpdates.sum(), moveAlerts.sum(), suspensionAlerts.sum(),
+                droppedAlerts.sum(), evictedEvents.sum());
+    }
+
+    private static List<MarketStats> stats(EventAggregate event) {
+        synchronized (event) {
+            return event.markets.values().stream()
+                    .map(MarketAggregate::stats)
+                    .sorted(BY_MARKET)
+                    .toList();
+        }
+    }
+
+    private void observe(EventAggregate event, Market market, long generation, long timestamp,
+                         List<MarketAlert> raised) {
+        MarketAggregate aggregate = event.market(market.id(), market.name());
+        aggregate.generation = generation;
+        if (!Boolean.TRUE.equals(market.open()) || market.runners() == null) {
+            close(event, aggregate, generation + 1, timestamp, raised);
+            return;
+        }
+        int openBefore = aggregate.openRunners();
+        int listed = 0;
+        for (Runner runner : market.runners()) {
+            double price = Boolean.TRUE.equals(runner.open()) ? price(runner.priceStr()) : Double.NaN;
+            if (!Double.isNaN(price)) {
+                listed++;
+            }
+            double previous = aggregate.update(runner.id(), price, generation, timestamp);
+            if (Double.isNaN(price) ? Double.isNaN(previous) : previous == price) {
+                continue;
+            }
+            runnerUpdates.increment();
+            if (!Double.isNaN(previous) && !Double.isNaN(price) && Math.abs(price / previous - 1) >= moveThreshold) {
+                moveAlerts.increment();
+                raised.add(new MarketAlert(MarketAlert.Type.MOVE, timestamp, event.eventId, event.eventName,
+                        market.id(), market.name(), runner.id(), runner.name(), previous, price, price / previous - 1));
+            }
+        }
+        if (aggregate.openRunners() > listed) {
+            runnerUpdates.add(aggregate.closeUnseen(generation, timestamp));
+        }
+        suspended(event, aggregate, openBefore, timestamp, raised);
+    }
+
+    private void close(EventAggregate event, MarketAggregate market, long generation, long timestamp,
+                       List<MarketAlert> raised) {
+        int openBefore = market.openRunners();
+        if (openBefore > 0) {
+            runnerUpdates.add(market.closeUnseen(generation, timestamp));
+            suspended(event, market, openBefore, timestamp, raised);
+        }
+    }
+
+    private void suspended(EventAggregate event, MarketAggregate market, int openBefore, long timestamp,
+                           List<MarketAlert> raised) {
+        if (openBefore > 0 && market.openRunners() == 0) {
+            suspensionAlerts.increment();
+            raised.add(new MarketAlert(MarketAlert.Type.SUSPENDED, timestamp, event.eventId, event.eventName,
+                    market.marketId(), market.marketName, null, null, null, null, null));
+        }
+    }
+
+    /**
+     * The sink is not thread-safe; emissions are serialized here instead of retrying on contention, so a worker
+     * waits only for the alerts already being handed to subscribers, which never block.
+     */
+    private void publish(List<MarketAlert> raised) {
+        synchronized (alerts) {
+            for (MarketAlert alert : raised) {
+                Sinks.EmitResult result = alerts.tryEmitNext(alert);
+                if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+                    droppedAlerts.increment();
+                }
+            }
+        }
+    }
+
+    private void evictIdle(long now) {
+        long due = nextEviction.get();
+        if (now < due || !nextEviction.compareAndSet(due, now + EVICTION_INTERVAL_MILLIS)) {
+            return;
+        }
+        long idleBefore = now - TimeUnit.MINUTES.toMillis(idleMinutes);
+        int before = events.size();
+        events.values().removeIf(event -> event.lastObserved < idleBefore);
+        int evicted = before - events.size();
+        if (evicted > 0) {
+            evictedEvents.add(evicted);
+            log.debug("Evicted {} events not seen for {} minutes", evicted, idleMinutes);
+        }
+    }
+
+    /**
+     * Decimal price of {@code priceStr}, or {@code NaN} when it is missing, not a plain decimal or not above zero.
+     */
+    static double price(String priceStr) {
+        byte scale = DecimalOdds.scale(priceStr);
+        if (scale == DecimalOdds.UNPARSED || scale >= POWERS_OF_TEN.length) {
+            return Double.NaN;
+        }
+        int unscaled = DecimalOdds.unscaled(priceStr);
+        return unscaled > 0 ? unscaled / POWERS_OF_TEN[scale] : Double.NaN;
+    }
+}
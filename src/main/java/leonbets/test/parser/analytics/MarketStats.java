@@ -0,0 +1,18 @@
+package leonbets.test.parser.analytics;
+
+public record MarketStats(
+        Long eventId,
+        String sportName,
+        String leagueName,
+        String eventName,
+        Long marketId,
+        String marketName,
+        int openRunners,
+        double overround,
+        double margin,
+        Double minPrice,
+        Double maxPrice,
+        long updates,
+        long lastChange
+) {
+}
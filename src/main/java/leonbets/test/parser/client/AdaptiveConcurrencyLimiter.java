@@ -0,0 +1,270 @@
+package leonbets.test.parser.client;
+
+import io.netty.channel.ConnectTimeoutException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int LATENCY_SAMPLES = 256;
+
+    @Value("${spring.parser.limiter.initial:3}")
+    private int initialLimit;
+
+    @Value("${spring.parser.limiter.min:1}")
+    private int minLimit;
+
+    @Value("${spring.parser.limiter.max:32}")
+    private int maxLimit;
+
+    @Value("${spring.parser.limiter.latency.tolerance:2.0}")
+    private double latencyTolerance;
+
+    @Value("${spring.parser.limiter.backoff.ratio:0.7}")
+    private double backoffRatio;
+
+    @Value("${spring.parser.limiter.window:500}")
+    private int rttWindow;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Call<?>> waiters = new ConcurrentLinkedQueue<>();
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private long minRtt = Long.MAX_VALUE;
+    private long windowMinRtt = Long.MAX_VALUE;
+    private int windowSamples;
+    private int latencyIndex;
+    private long successes;
+    private long drops;
+
+    public AdaptiveConcurrencyLimiter() {
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance,
+                                      double backoffRatio, int rttWindow) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.rttWindow = rttWindow;
+        init();
+    }
+
+    @PostConstruct
+    void init() {
+        estimatedLimit = Math.clamp(initialLimit, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueued() {
+        return waiters.size();
+    }
+
+    public <T> Mono<T> limit(Mono<T> request) {
+        return Mono.create(sink -> {
+            Call<T> call = new Call<>(request, sink);
+            sink.onCancel(call::cancel);
+            if (tryAcquire()) {
+                call.start();
+            } else {
+                waiters.offer(call);
+                drain();
+            }
+        });
+    }
+
+    public synchronized LimiterStats stats() {
+        long[] samples = Arrays.copyOf(latencies, (int) Math.min(successes, LATENCY_SAMPLES));
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return new LimiterStats(limit, inFlight.get(), waiters.size(),
+                minRtt == Long.MAX_VALUE ? 0 : toMillis(minRtt),
+                toMillis(percentile(sorted, 0.50)), toMillis(percentile(sorted, 0.99)),
+                successes, drops,
+                Arrays.stream(samples).map(TimeUnit.NANOSECONDS::toMicros).toArray());
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        while (!waiters.isEmpty() && tryAcquire()) {
+            Call<?> call = waiters.poll();
+            if (call == null || !call.start()) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private void onSuccess(long rtt) {
+        synchronized (this) {
+            successes++;
+            latencies[latencyIndex] = rtt;
+            latencyIndex = (latencyIndex + 1) % LATENCY_SAMPLES;
+
+            windowMinRtt = Math.min(windowMinRtt, rtt);
+            minRtt = Math.min(minRtt, rtt);
+            if (++windowSamples >= rttWindow) {
+                minRtt = windowMinRtt;
+                windowMinRtt = Long.MAX_VALUE;
+                windowSamples = 0;
+            }
+
+            boolean latencyFlat = rtt <= minRtt * latencyTolerance;
+            boolean saturated = inFlight.get() * 2 >= limit;
+            if (latencyFlat && saturated) {
+                updateLimit(estimatedLimit + 1.0 / estimatedLimit);
+            }
+        }
+        release();
+    }
+
+    private void onError(Throwable error) {
+        if (isOverload(error)) {
+            synchronized (this) {
+                drops++;
+                updateLimit(estimatedLimit * backoffRatio);
+            }
+            log.debug("Upstream overload ({}), concurrency limit is now {}", error.toString(), limit);
+        }
+        release();
+    }
+
+    private void updateLimit(double newLimit) {
+        estimatedLimit = Math.clamp(newLimit, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    static boolean isOverload(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientResponseException response) {
+                return response.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)
+                        || response.getStatusCode().is5xxServerError();
+            }
+            if (cause instanceof TimeoutException
+                    || cause instanceof io.netty.handler.timeout.TimeoutException
+                    || cause instanceof ConnectTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private final class Call<T> {
+        private static final int WAITING = 0;
+        private static final int STARTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final Mono<T> request;
+        private final MonoSink<T> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile Disposable subscription;
+
+        private Call(Mono<T> request, MonoSink<T> sink) {
+            this.request = request;
+            this.sink = sink;
+        }
+
+        boolean start() {
+            if (!state.compareAndSet(WAITING, STARTED)) {
+                return false;
+            }
+            long startedAt = System.nanoTime();
+            subscription = request.subscribe(
+                    value -> {
+                        if (released.compareAndSet(false, true)) {
+                            onSuccess(System.nanoTime() - startedAt);
+                        }
+                        sink.success(value);
+                    },
+                    error -> {
+                        if (released.compareAndSet(false, true)) {
+                            onError(error);
+                        }
+                        sink.error(error);
+                    },
+                    () -> {
+                        if (released.compareAndSet(false, true)) {
+                            onSuccess(System.nanoTime() - startedAt);
+                        }
+                        sink.success();
+                    });
+            if (state.get() == CANCELLED) {
+                subscription.dispose();
+            }
+            return true;
+        }
+
+        void cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                return;
+            }
+            state.set(CANCELLED);
+            Disposable current = subscription;
+            if (current != null) {
+                current.dispose();
+            }
+            if (released.compareAndSet(false, true)) {
+                release();
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package leonbets.test.parser.client;
+
+public record CacheStats(
+        String name,
+        long ttlSeconds,
+        int maxEntries,
+        int size,
+        long hits,
+        long misses,
+        long revalidated,
+        long collapsed,
+        long evictions
+) {
+}
@@ -0,0 +1,8 @@
+package leonbets.test.parser.client;
+
+public record CachedResponse<T>(
+        T value,
+        String etag,
+        String lastModified
+) {
+}
@@ -0,0 +1,153 @@
+package leonbets.test.parser.client;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final String name;
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final Predicate<Throwable> isFailure;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int index;
+    private int calls;
+    private int failures;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+    private long rejected;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration openDuration, int halfOpenCalls, Predicate<Throwable> isFailure) {
+        this.name = name;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.isFailure = isFailure;
+    }
+
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            Permit permit = tryAcquire();
+            if (permit == null) {
+                return Mono.error(new CircuitOpenException(name));
+            }
+            AtomicBoolean completed = new AtomicBoolean();
+            return call
+                    .doOnSuccess(value -> {
+                        if (completed.compareAndSet(false, true)) {
+                            onResult(permit, false);
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (completed.compareAndSet(false, true)) {
+                            onResult(permit, isFailure.test(error));
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (completed.compareAndSet(false, true)) {
+                            onCancel(permit);
+                        }
+                    });
+        });
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized long rejected() {
+        return rejected;
+    }
+
+    public synchronized double failureRate() {
+        return calls == 0 ? 0 : (double) failures / calls;
+    }
+
+    private synchronized Permit tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                rejected++;
+                return null;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= halfOpenCalls) {
+                rejected++;
+                return null;
+            }
+            halfOpenInFlight++;
+        }
+        return new Permit(generation, state == State.HALF_OPEN);
+    }
+
+    private synchronized void onResult(Permit permit, boolean failure) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        if (permit.halfOpen()) {
+            halfOpenInFlight--;
+            if (failure) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (calls == window.length && window[index]) {
+            failures--;
+        }
+        window[index] = failure;
+        index = (index + 1) % window.length;
+        calls = Math.min(calls + 1, window.length);
+        if (failure) {
+            failures++;
+        }
+        if (calls >= minimumCalls && (double) failures / calls >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private synchronized void onCancel(Permit permit) {
+        if (permit.generation() == generation && permit.halfOpen()) {
+            halfOpenInFlight--;
+        }
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        generation++;
+        halfOpenInFlight = 0;
+        halfOpenSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (next == State.CLOSED) {
+            index = 0;
+            calls = 0;
+            failures = 0;
+        }
+    }
+
+    private record Permit(long generation, boolean halfOpen) {
+    }
+}
@@ -0,0 +1,8 @@
+package leonbets.test.parser.client;
+
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String endpoint) {
+        super("Circuit breaker for '" + endpoint + "' is open");
+    }
+}
@@ -0,0 +1,12 @@
+package leonbets.test.parser.client;
+
+import java.time.Duration;
+
+public record CircuitPolicy(
+        int window,
+        int minimumCalls,
+        double failureRate,
+        Duration openDuration,
+        int halfOpenCalls
+) {
+}
@@ -0,0 +1,123 @@
+package leonbets.test.parser.client;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import leonbets.test.parser.metrics.ParserMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Slf4j
+public class CpuStage implements Executor {
+
+    private final ParserMetrics metrics;
+    private final LongAdder rejected = new LongAdder();
+
+    @Value("${spring.parser.cpu.enabled:true}")
+    private boolean enabled;
+
+    @Value("${spring.parser.cpu.threads:0}")
+    private int threads;
+
+    @Value("${spring.parser.cpu.queue.capacity:4096}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    private Scheduler scheduler;
+
+    @Autowired
+    public CpuStage(ParserMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public CpuStage(ParserMetrics metrics, int threads, int queueCapacity) {
+        this.metrics = metrics;
+        this.enabled = true;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        init();
+    }
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            scheduler = Schedulers.immediate();
+            return;
+        }
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor = new TimedExecutor(poolSize, queueCapacity);
+        scheduler = Schedulers.fromExecutorService(executor, "leonbets-cpu");
+        log.info("CPU stage started with {} threads and a queue of {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            scheduler.dispose();
+            executor.shutdownNow();
+        }
+    }
+
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (executor == null) {
+            task.run();
+        } else {
+            executor.execute(task);
+        }
+    }
+
+    public int getQueued() {
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    public int getActive() {
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+
+    public CpuStageStats stats() {
+        if (executor == null) {
+            return new CpuStageStats(false, 0, 0, 0, 0, 0, 0);
+        }
+        return new CpuStageStats(true, executor.getMaximumPoolSize(), executor.getActiveCount(),
+                executor.getQueue().size(), queueCapacity, executor.getCompletedTaskCount(), rejected.sum());
+    }
+
+    private final class TimedExecutor extends ThreadPoolExecutor {
+
+        private TimedExecutor(int poolSize, int queueCapacity) {
+            super(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                    Thread.ofPlatform().name("leonbets-cpu-", 0).daemon(true).factory(),
+                    (task, pool) -> {
+                        rejected.increment();
+                        throw new RejectedExecutionException(pool.isShutdown()
+                                ? "CPU stage is shut down"
+                                : "CPU stage queue is full (" + queueCapacity + " tasks)");
+                    });
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            long enqueuedAt = System.nanoTime();
+            super.execute(() -> {
+                metrics.recordCpuQueueWait(System.nanoTime() - enqueuedAt);
+                task.run();
+            });
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package leonbets.test.parser.client;
+
+public record CpuStageStats(
+        boolean enabled,
+        int threads,
+        int active,
+        int queued,
+        int queueCapacity,
+        long completed,
+        long rejected
+) {
+}
@@ -0,0 +1,13 @@
+package leonbets.test.parser.client;
+
+import java.time.Duration;
+import java.util.Set;
+
+public record HedgePolicy(
+        Set<String> endpoints,
+        double quantile,
+        Duration minDelay,
+        int minSamples,
+        RetryBudget budget
+) {
+}
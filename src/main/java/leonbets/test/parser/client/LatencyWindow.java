@@ -0,0 +1,37 @@
+package leonbets.test.parser.client;
+
+import java.util.Arrays;
+
+public class LatencyWindow {
+
+    private final long[] samples;
+    private final double quantile;
+    private final int minSamples;
+    private final int refreshEvery;
+
+    private int index;
+    private long count;
+    private volatile long quantileNanos = -1;
+
+    public LatencyWindow(int size, double quantile, int minSamples) {
+        this.samples = new long[size];
+        this.quantile = quantile;
+        this.minSamples = minSamples;
+        this.refreshEvery = Math.max(1, size / 8);
+    }
+
+    public synchronized void record(long nanos) {
+        samples[index] = nanos;
+        index = (index + 1) % samples.length;
+        count++;
+        if (count >= minSamples && (count == minSamples || count % refreshEvery == 0)) {
+            long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+            Arrays.sort(sorted);
+            quantileNanos = sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+        }
+    }
+
+    public long quantileNanos() {
+        return quantileNanos;
+    }
+}
@@ -0,0 +1,192 @@
+package leonbets.test.parser.client;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import leonbets.test.parser.entity.EventEnvelope;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.entity.Sport;
+import leonbets.test.parser.metrics.ParserMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LeonbetsClient {
+
+    private final WebClient webClient;
+    private final MarketEnvelopeDecoder marketDecoder;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final UpstreamResilience resilience;
+    private final ObjectMapper objectMapper;
+    private final ParserMetrics metrics;
+    private final CpuStage cpuStage;
+
+    @Value("${spring.parser.url.base}")
+    private String baseUrl;
+
+    @Value("${spring.parser.url.sports}")
+    private String sportsEndpoint;
+
+    @Value("${spring.parser.url.events}")
+    private String eventsEndpoint;
+
+    @Value("${spring.parser.url.markets}")
+    private String marketsEndpoint;
+
+    @Value("${spring.parser.cache.sports.ttl.seconds:300}")
+    private long sportsTtlSeconds;
+
+    @Value("${spring.parser.cache.sports.max.entries:4}")
+    private int sportsMaxEntries;
+
+    @Value("${spring.parser.cache.events.ttl.seconds:30}")
+    private long eventsTtlSeconds;
+
+    @Value("${spring.parser.cache.events.max.entries:1000}")
+    private int eventsMaxEntries;
+
+    @Value("${spring.parser.cache.markets.ttl.seconds:0}")
+    private long marketsTtlSeconds;
+
+    @Value("${spring.parser.cache.markets.max.entries:1000}")
+    private int marketsMaxEntries;
+
+    @Value("${webclient.max.memory.mb:5}")
+    private int maxMemoryMb;
+
+    private JavaType sportsType;
+    private JavaType eventsType;
+    private ResponseCache<List<Sport>> sportsCache;
+    private ResponseCache<EventEnvelope> eventsCache;
+    private ResponseCache<MarketEnvelope> marketsCache;
+
+    @PostConstruct
+    void initCaches() {
+        sportsType = objectMapper.getTypeFactory().constructCollectionType(List.class, Sport.class);
+        eventsType = objectMapper.constructType(EventEnvelope.class);
+        sportsCache = new ResponseCache<>("sports", Duration.ofSeconds(sportsTtlSeconds), sportsMaxEntries);
+        eventsCache = new ResponseCache<>("events", Duration.ofSeconds(eventsTtlSeconds), eventsMaxEntries);
+        marketsCache = new ResponseCache<>("markets", Duration.ofSeconds(marketsTtlSeconds), marketsMaxEntries);
+    }
+
+    public Mono<List<Sport>> fetchSports() {
+        String url = baseUrl + sportsEndpoint;
+        return sportsCache.get(url, stale ->
+                exchange("sports", url, stale, response -> decode("sports", response, sportsType)));
+    }
+
+    public Mono<EventEnvelope> fetchEvents(Long leagueId) {
+        String url = baseUrl + String.format(eventsEndpoint, leagueId);
+        return eventsCache.get(url, stale ->
+                exchange("events", url, stale, response -> decode("events", response, eventsType)));
+    }
+
+    public Mono<MarketEnvelope> fetchMarkets(Long eventId) {
+        String url = baseUrl + String.format(marketsEndpoint, eventId);
+        return marketsCache.get(url, stale ->
+                exchange("markets", url, stale, response -> marketDecoder.decode(
+                        response.bodyToFlux(DataBuffer.class).publishOn(cpuStage.scheduler()))));
+    }
+
+    public Mono<Flux<DataBuffer>> streamMarkets(Long eventId) {
+        String url = baseUrl + String.format(marketsEndpoint, eventId);
+        return resilience.execute("raw", () -> limiter.limit(Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return webClient.get()
+                    .uri(url)
+                    .retrieve()
+                    .toEntityFlux(DataBuffer.class)
+                    .map(HttpEntity::getBody)
+                    .doOnSuccess(body -> metrics.recordFetch("raw", "success", System.nanoTime() - startedAt))
+                    .doOnError(e -> {
+                        metrics.recordFetch("raw", "error", System.nanoTime() - startedAt);
+                        metrics.recordError("raw", e);
+                    });
+        })));
+    }
+
+    public List<CacheStats> cacheStats() {
+        return List.of(sportsCache.stats(), eventsCache.stats(), marketsCache.stats());
+    }
+
+    private <T> Mono<T> decode(String payload, ClientResponse response, JavaType type) {
+        return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class), maxMemoryMb * 1024 * 1024)
+                .publishOn(cpuStage.scheduler())
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .map(buffer -> {
+                    long startedAt = System.nanoTime();
+                    int bytes = buffer.readableByteCount();
+                    try (InputStream in = buffer.asInputStream(true)) {
+                        T value = objectMapper.readValue(in, type);
+                        metrics.recordDecode(payload, System.nanoTime() - startedAt, bytes);
+                        return value;
+                    } catch (IOException e) {
+                        throw new DecodingException("Failed to decode " + payload + " payload: " + e.getMessage(), e);
+                    }
+                });
+    }
+
+    private <T> Mono<CachedResponse<T>> exchange(String stage, String url, CachedResponse<T> stale,
+                                                 Function<ClientResponse, Mono<T>> decoder) {
+        return resilience.execute(stage, () -> limiter.limit(Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return send(url, stale, decoder)
+                    .doOnSuccess(response -> metrics.recordFetch(stage,
+                            response != null && response == stale ? "not_modified" : "success",
+                            System.nanoTime() - startedAt))
+                    .doOnError(e -> {
+                        metrics.recordFetch(stage, "error", System.nanoTime() - startedAt);
+                        metrics.recordError(stage, e);
+                    });
+        })));
+    }
+
+    private <T> Mono<CachedResponse<T>> send(String url, CachedResponse<T> stale,
+                                             Function<ClientResponse, Mono<T>> decoder) {
+        return webClient.get()
+                .uri(url)
+                .headers(headers -> {
+                    if (stale != null && stale.etag() != null) {
+                        headers.setIfNoneMatch(stale.etag());
+                    }
+                    if (stale != null && stale.lastModified() != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, stale.lastModified());
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && stale != null) {
+                        log.debug("Not modified: {}", url);
+                        return response.releaseBody().thenReturn(stale);
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    String etag = headers.getETag();
+                    String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+                    return decoder.apply(response)
+                            .map(value -> new CachedResponse<>(value, etag, lastModified));
+                });
+    }
+}
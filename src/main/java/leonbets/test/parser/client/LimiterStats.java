@@ -0,0 +1,14 @@
+package leonbets.test.parser.client;
+
+public record LimiterStats(
+        int limit,
+        int inFlight,
+        int queued,
+        double minRttMillis,
+        double p50Millis,
+        double p99Millis,
+        long successes,
+        long drops,
+        long[] recentLatencyMicros
+) {
+}
@@ -0,0 +1,301 @@
+package leonbets.test.parser.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import leonbets.test.parser.entity.Market;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.metrics.ParserMetrics;
+import leonbets.test.parser.selection.SelectionIndex;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class MarketEnvelopeDecoder {
+
+    private final JsonFactory jsonFactory;
+    private final ParserMetrics metrics;
+    private final SelectionIndex selection;
+
+    public MarketEnvelopeDecoder(ObjectMapper objectMapper, ParserMetrics metrics, SelectionIndex selection) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.metrics = metrics;
+        this.selection = selection;
+    }
+
+    public Mono<MarketEnvelope> decode(Flux<DataBuffer> body) {
+        return Mono.defer(() -> {
+            TokenReader reader = new TokenReader(createParser(), selection);
+            return body
+                    .doOnNext(buffer -> {
+                        try {
+                            reader.feed(buffer);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .then(Mono.fromCallable(() -> {
+                        MarketEnvelope envelope = reader.finish();
+                        metrics.recordDecode("markets", reader.decodeNanos, reader.decodedBytes);
+                        return envelope;
+                    }));
+        });
+    }
+
+    private JsonParser createParser() {
+        try {
+            return jsonFactory.createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private enum Scope {
+        NONE, ROOT, MARKETS, MARKET, RUNNERS, RUNNER, DONE
+    }
+
+    private static final class TokenReader {
+
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+        private final SelectionIndex selection;
+
+        private Scope scope = Scope.NONE;
+        private String field;
+        private int skipNesting;
+        private boolean started;
+        private long decodeNanos;
+        private long decodedBytes;
+
+        private List<Market> markets;
+        private Long marketId;
+        private String marketName;
+        private Boolean marketOpen;
+        private Boolean marketSelected;
+        private List<Runner> runners;
+
+        private Long runnerId;
+        private String runnerName;
+        private Boolean runnerOpen;
+        private String runnerPrice;
+
+        private TokenReader(JsonParser parser, SelectionIndex selection) {
+            this.parser = parser;
+            this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+            this.selection = selection;
+        }
+
+        void feed(DataBuffer buffer) {
+            long startedAt = System.nanoTime();
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    ByteBuffer chunk = iterator.next();
+                    if (chunk.hasRemaining()) {
+                        decodedBytes += chunk.remaining();
+                        feeder.feedInput(chunk);
+                        drain();
+                    }
+                }
+            } catch (IOException e) {
+                throw new DecodingException("Failed to decode market payload: " + e.getMessage(), e);
+            } finally {
+                decodeNanos += System.nanoTime() - startedAt;
+            }
+        }
+
+        MarketEnvelope finish() {
+            long startedAt = System.nanoTime();
+            try {
+                feeder.endOfInput();
+                drain();
+                parser.close();
+            } catch (IOException e) {
+                throw new DecodingException("Failed to decode market payload: " + e.getMessage(), e);
+            } finally {
+                decodeNanos += System.nanoTime() - startedAt;
+            }
+            if (!started) {
+                return null;
+            }
+            if (scope != Scope.DONE) {
+                throw new DecodingException("Incomplete market payload");
+            }
+            return new MarketEnvelope(markets == null ? List.of() : markets);
+        }
+
+        private void drain() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                started = true;
+                if (skipNesting > 0) {
+                    skip(token);
+                } else {
+                    accept(token);
+                }
+            }
+        }
+
+        private void skip(JsonToken token) {
+            if (token.isStructStart()) {
+                skipNesting++;
+            } else if (token.isStructEnd()) {
+                skipNesting--;
+            }
+        }
+
+        private void skipValue(JsonToken token) {
+            if (token.isStructStart()) {
+                skipNesting = 1;
+            }
+        }
+
+        private void accept(JsonToken token) throws IOException {
+            if (token == JsonToken.FIELD_NAME) {
+                field = parser.currentName();
+                return;
+            }
+
+            switch (scope) {
+                case NONE -> {
+                    if (token != JsonToken.START_OBJECT) {
+                        throw new DecodingException("Market payload is not a JSON object: " + token);
+                    }
+                    scope = Scope.ROOT;
+                }
+                case ROOT -> {
+                    if (token == JsonToken.END_OBJECT) {
+                        scope = Scope.DONE;
+                    } else if ("markets".equals(field) && token == JsonToken.START_ARRAY) {
+                        markets = new ArrayList<>();
+                        scope = Scope.MARKETS;
+                    } else {
+                        skipValue(token);
+                    }
+                }
+                case MARKETS -> {
+                    if (token == JsonToken.END_ARRAY) {
+                        scope = Scope.ROOT;
+                    } else if (token == JsonToken.START_OBJECT) {
+                        marketId = null;
+                        marketName = null;
+                        marketOpen = null;
+                        marketSelected = null;
+                        runners = null;
+                        scope = Scope.MARKET;
+                    } else {
+                        skipValue(token);
+                    }
+                }
+                case MARKET -> acceptMarketValue(token);
+                case RUNNERS -> {
+                    if (token == JsonToken.END_ARRAY) {
+                        scope = Scope.MARKET;
+                    } else if (token == JsonToken.START_OBJECT) {
+                        runnerId = null;
+                        runnerName = null;
+                        runnerOpen = null;
+                        runnerPrice = null;
+                        scope = Scope.RUNNER;
+                    } else {
+                        skipValue(token);
+                    }
+                }
+                case RUNNER -> acceptRunnerValue(token);
+                case DONE -> throw new DecodingException("Unexpected content after market payload: " + token);
+            }
+        }
+
+        private void acceptMarketValue(JsonToken token) throws IOException {
+            if (token == JsonToken.END_OBJECT) {
+                if (Boolean.TRUE.equals(marketOpen) && isSelected()) {
+                    markets.add(new Market(marketId, marketName, true, runners == null ? List.of() : runners));
+                }
+                scope = Scope.MARKETS;
+                return;
+            }
+
+            switch (field) {
+                case "id" -> marketId = longOrSkip(token);
+                case "name" -> {
+                    marketName = textOrSkip(token);
+                    marketSelected = selection.selectsMarket(marketName);
+                }
+                case "open" -> marketOpen = booleanOrSkip(token);
+                case "runners" -> {
+                    // Unselected markets whose name came first never materialise their runners
+                    if (token == JsonToken.START_ARRAY && !Boolean.FALSE.equals(marketOpen)
+                            && !Boolean.FALSE.equals(marketSelected)) {
+                        runners = new ArrayList<>();
+                        scope = Scope.RUNNERS;
+                    } else {
+                        skipValue(token);
+                    }
+                }
+                default -> skipValue(token);
+            }
+        }
+
+        private void acceptRunnerValue(JsonToken token) throws IOException {
+            if (token == JsonToken.END_OBJECT) {
+                if (Boolean.TRUE.equals(runnerOpen) && selection.selectsRunner(runnerName)) {
+                    runners.add(new Runner(runnerId, runnerName, true, runnerPrice));
+                }
+                scope = Scope.RUNNERS;
+                return;
+            }
+
+            switch (field) {
+                case "id" -> runnerId = longOrSkip(token);
+                case "name" -> runnerName = textOrSkip(token);
+                case "open" -> runnerOpen = booleanOrSkip(token);
+                case "priceStr" -> runnerPrice = textOrSkip(token);
+                default -> skipValue(token);
+            }
+        }
+
+        private boolean isSelected() {
+            if (marketSelected == null) {
+                marketSelected = selection.selectsMarket(marketName);
+            }
+            return marketSelected && (!selection.filtersRunners() || (runners != null && !runners.isEmpty()));
+        }
+
+        private String textOrSkip(JsonToken token) throws IOException {
+            if (token.isScalarValue()) {
+                return token == JsonToken.VALUE_NULL ? null : parser.getText();
+            }
+            skipValue(token);
+            return null;
+        }
+
+        private Long longOrSkip(JsonToken token) throws IOException {
+            if (token == JsonToken.VALUE_NUMBER_INT) {
+                return parser.getLongValue();
+            }
+            skipValue(token);
+            return null;
+        }
+
+        private Boolean booleanOrSkip(JsonToken token) {
+            if (token.isBoolean()) {
+                return token == JsonToken.VALUE_TRUE;
+            }
+            skipValue(token);
+            return null;
+        }
+    }
+}
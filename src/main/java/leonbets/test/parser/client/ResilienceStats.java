@@ -0,0 +1,15 @@
+package leonbets.test.parser.client;
+
+public record ResilienceStats(
+        String endpoint,
+        CircuitBreaker.State circuitState,
+        double failureRate,
+        long rejected,
+        long requests,
+        long retries,
+        long retriesDenied,
+        long hedges,
+        long hedgeWins,
+        double hedgeDelayMillis
+) {
+}
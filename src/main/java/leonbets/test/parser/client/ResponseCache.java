@@ -0,0 +1,110 @@
+package leonbets.test.parser.client;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class ResponseCache<T> {
+
+    private final String name;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Map<String, Entry<T>> entries;
+    private final Map<String, Mono<CachedResponse<T>>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCache(String name, Duration ttl, int maxEntries) {
+        this.name = name;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Mono<T> get(String key, Function<CachedResponse<T>, Mono<CachedResponse<T>>> loader) {
+        return Mono.defer(() -> {
+            Entry<T> entry = lookup(key);
+            if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+                hits.increment();
+                return Mono.just(entry.response().value());
+            }
+
+            Mono<CachedResponse<T>> pending = inFlight.get(key);
+            if (pending != null) {
+                collapsed.increment();
+                return pending.map(CachedResponse::value);
+            }
+
+            misses.increment();
+            CachedResponse<T> stale = entry == null ? null : entry.response();
+            AtomicReference<Mono<CachedResponse<T>>> self = new AtomicReference<>();
+            // Leave inFlight before the result reaches subscribers, so a caller that has already seen it
+            // cannot collapse into this finished load.
+            Mono<CachedResponse<T>> load = loader.apply(stale)
+                    .doOnNext(response -> {
+                        if (response == stale) {
+                            revalidated.increment();
+                        }
+                        store(key, response);
+                        inFlight.remove(key, self.get());
+                    })
+                    .doOnError(e -> inFlight.remove(key, self.get()))
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(load);
+
+            Mono<CachedResponse<T>> raced = inFlight.putIfAbsent(key, load);
+            if (raced != null) {
+                collapsed.increment();
+                return raced.map(CachedResponse::value);
+            }
+            return load.map(CachedResponse::value);
+        });
+    }
+
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(name, ttl.toSeconds(), maxEntries, size,
+                hits.sum(), misses.sum(), revalidated.sum(), collapsed.sum(), evictions.sum());
+    }
+
+    private Entry<T> lookup(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    private void store(String key, CachedResponse<T> response) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry<>(response, System.nanoTime() + ttl.toNanos()));
+        }
+    }
+
+    private record Entry<T>(CachedResponse<T> response, long expiresAt) {
+    }
+}
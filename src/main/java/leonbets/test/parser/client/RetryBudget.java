@@ -0,0 +1,39 @@
+package leonbets.test.parser.client;
+
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long depositPerRequest;
+    private final long reservePerSecond;
+    private final long maxBalance;
+
+    private long balance;
+    private long refilledAt = System.nanoTime();
+
+    public RetryBudget(double ratio, int minPerSecond) {
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.reservePerSecond = minPerSecond * SCALE;
+        this.maxBalance = Math.max(reservePerSecond, 100 * SCALE);
+        this.balance = reservePerSecond;
+    }
+
+    public synchronized void onRequest() {
+        balance = Math.min(maxBalance, balance + depositPerRequest);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        long now = System.nanoTime();
+        long elapsed = now - refilledAt;
+        if (elapsed >= NANOS_PER_SECOND) {
+            balance = Math.max(balance, Math.min(maxBalance, reservePerSecond));
+            refilledAt = now;
+        }
+        if (balance < SCALE) {
+            return false;
+        }
+        balance -= SCALE;
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package leonbets.test.parser.client;
+
+import java.time.Duration;
+
+public record RetryPolicy(
+        int maxAttempts,
+        Duration minBackoff,
+        Duration maxBackoff,
+        double jitter,
+        RetryBudget budget
+) {
+}
@@ -0,0 +1,165 @@
+package leonbets.test.parser.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Slf4j
+public class UpstreamResilience {
+
+    private final RetryPolicy retry;
+    private final CircuitPolicy circuit;
+    private final HedgePolicy hedge;
+    private final long minHedgeDelayNanos;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public UpstreamResilience(RetryPolicy retry, CircuitPolicy circuit, HedgePolicy hedge) {
+        this.retry = retry;
+        this.circuit = circuit;
+        this.hedge = hedge;
+        this.minHedgeDelayNanos = hedge.minDelay().toNanos();
+    }
+
+    public <T> Mono<T> execute(String name, Supplier<Mono<T>> attempt) {
+        Endpoint endpoint = endpoint(name);
+        return Mono.defer(() -> {
+            endpoint.requests.increment();
+            retry.budget().onRequest();
+            hedge.budget().onRequest();
+            Mono<T> call = Mono.defer(() -> endpoint.hedged
+                    ? hedged(endpoint, attempt)
+                    : protectedAttempt(endpoint, attempt));
+            return retry.maxAttempts() > 1 ? call.retryWhen(retrySpec(endpoint)) : call;
+        });
+    }
+
+    public List<ResilienceStats> stats() {
+        return endpoints.values().stream()
+                .map(Endpoint::stats)
+                .sorted((a, b) -> a.endpoint().compareTo(b.endpoint()))
+                .toList();
+    }
+
+    public ResilienceStats stats(String name) {
+        return endpoint(name).stats();
+    }
+
+    public static boolean isRetryable(Throwable error) {
+        if (error instanceof CircuitOpenException) {
+            return false;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientRequestException) {
+                return true;
+            }
+        }
+        return AdaptiveConcurrencyLimiter.isOverload(error);
+    }
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, Endpoint::new);
+    }
+
+    private <T> Mono<T> protectedAttempt(Endpoint endpoint, Supplier<Mono<T>> attempt) {
+        return endpoint.breaker.protect(Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return attempt.get()
+                    .doOnSuccess(value -> endpoint.latency.record(System.nanoTime() - startedAt));
+        }));
+    }
+
+    /**
+     * Races the primary attempt against a backup started after the endpoint's latency quantile. Only a success
+     * wins the race: a primary failure while the backup is in flight waits for the backup, and the call fails
+     * only once both have failed. A primary failure before the backup starts cancels the backup.
+     */
+    private <T> Mono<T> hedged(Endpoint endpoint, Supplier<Mono<T>> attempt) {
+        long delayNanos = endpoint.latency.quantileNanos();
+        if (delayNanos < 0) {
+            return protectedAttempt(endpoint, attempt);
+        }
+        Duration delay = Duration.ofNanos(Math.max(delayNanos, minHedgeDelayNanos));
+        return Mono.defer(() -> {
+            Sinks.One<Throwable> primaryFailed = Sinks.one();
+            Mono<Signal<T>> primary = protectedAttempt(endpoint, attempt)
+                    .doOnError(primaryFailed::tryEmitValue)
+                    .materialize();
+            Mono<Signal<T>> backup = Mono.delay(delay)
+                    .takeUntilOther(primaryFailed.asMono())
+                    .flatMap(tick -> {
+                        if (!hedge.budget().tryWithdraw()) {
+                            return Mono.empty();
+                        }
+                        endpoint.hedges.increment();
+                        return protectedAttempt(endpoint, attempt)
+                                .doOnSuccess(value -> endpoint.hedgeWins.increment())
+                                .materialize();
+                    });
+            return Flux.merge(primary, backup)
+                    .takeUntil(signal -> !signal.isOnError())
+                    .reduce((first, next) -> next.isOnError() ? first : next)
+                    .dematerialize();
+        });
+    }
+
+    private Retry retrySpec(Endpoint endpoint) {
+        return Retry.backoff(retry.maxAttempts() - 1, retry.minBackoff())
+                .maxBackoff(retry.maxBackoff())
+                .jitter(retry.jitter())
+                .filter(error -> {
+                    if (!isRetryable(error)) {
+                        return false;
+                    }
+                    if (!retry.budget().tryWithdraw()) {
+                        endpoint.retriesDenied.increment();
+                        return false;
+                    }
+                    return true;
+                })
+                .doBeforeRetry(signal -> {
+                    endpoint.retries.increment();
+                    log.debug("Retrying {} request (attempt {}): {}", endpoint.name,
+                            signal.totalRetries() + 2, signal.failure().toString());
+                })
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private final class Endpoint {
+        private final String name;
+        private final boolean hedged;
+        private final CircuitBreaker breaker;
+        private final LatencyWindow latency;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder retriesDenied = new LongAdder();
+        private final LongAdder hedges = new LongAdder();
+        private final LongAdder hedgeWins = new LongAdder();
+
+        private Endpoint(String name) {
+            this.name = name;
+            this.hedged = hedge.endpoints().contains(name);
+            this.breaker = new CircuitBreaker(name, circuit.window(), circuit.minimumCalls(), circuit.failureRate(),
+                    circuit.openDuration(), circuit.halfOpenCalls(), UpstreamResilience::isRetryable);
+            this.latency = new LatencyWindow(256, hedge.quantile(), hedge.minSamples());
+        }
+
+        private ResilienceStats stats() {
+            long delay = latency.quantileNanos();
+            return new ResilienceStats(name, breaker.state(), breaker.failureRate(), breaker.rejected(),
+                    requests.sum(), retries.sum(), retriesDenied.sum(), hedges.sum(), hedgeWins.sum(),
+                    hedged && delay >= 0 ? Math.max(delay, minHedgeDelayNanos) / 1_000_000.0 : -1);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package leonbets.test.parser.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spring joins a multi-value body with JSON brackets and commas, which corrupts Smile, and refuses to stream CBOR at
+ * all. These encoders collect a non-streaming body and write it as one binary array instead.
+ */
+final class BinaryArrayEncoders {
+
+    private BinaryArrayEncoders() {
+    }
+
+    static class Smile extends Jackson2SmileEncoder {
+
+        Smile(ObjectMapper mapper, MimeType... mimeTypes) {
+            super(mapper, mimeTypes);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> || isStreaming(mimeType)) {
+                return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+            }
+            return encodeAsArray(this, inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+
+        private boolean isStreaming(MimeType mimeType) {
+            return mimeType != null && getStreamingMediaTypes().stream().anyMatch(mimeType::isCompatibleWith);
+        }
+    }
+
+    /**
+     * Only answers for an explicit {@code application/cbor} type, so handlers must list CBOR in {@code produces} and
+     * wildcard {@code Accept} headers keep negotiating JSON.
+     */
+    static class Cbor extends Jackson2CborEncoder {
+
+        Cbor(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+            return mimeType != null && MediaType.APPLICATION_CBOR.isCompatibleWith(mimeType)
+                    && super.canEncode(elementType, mimeType);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> value) {
+                return value.map(item -> encodeValue(item, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            return encodeAsArray(this, inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+
+    private static Flux<DataBuffer> encodeAsArray(AbstractJackson2Encoder encoder, Publisher<?> inputStream,
+                                                  DataBufferFactory bufferFactory, ResolvableType elementType,
+                                                  MimeType mimeType, Map<String, Object> hints) {
+        ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+        return Flux.from(inputStream)
+                .collectList()
+                .map(items -> encoder.encodeValue(items, bufferFactory, listType, mimeType, hints))
+                .flux();
+    }
+}
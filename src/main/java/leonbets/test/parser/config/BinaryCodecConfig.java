@@ -0,0 +1,32 @@
+package leonbets.test.parser.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import leonbets.test.parser.output.OutputFormat;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.util.MimeType;
+
+@Configuration
+public class BinaryCodecConfig {
+
+    private static final MimeType[] SMILE_TYPES = {
+            new MimeType("application", "x-jackson-smile"),
+            new MimeType("application", "*+x-jackson-smile")
+    };
+
+    @Bean
+    public CodecCustomizer binaryCodecCustomizer(ObjectMapper objectMapper) {
+        ObjectMapper smile = OutputFormat.SMILE.mapper(objectMapper);
+        ObjectMapper cbor = OutputFormat.CBOR.mapper(objectMapper);
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new BinaryArrayEncoders.Smile(smile, SMILE_TYPES));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile, SMILE_TYPES));
+            configurer.customCodecs().register(new BinaryArrayEncoders.Cbor(cbor));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cbor, MediaType.APPLICATION_CBOR));
+        };
+    }
+}
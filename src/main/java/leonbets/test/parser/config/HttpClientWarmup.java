@@ -0,0 +1,55 @@
+package leonbets.test.parser.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class HttpClientWarmup implements ApplicationRunner {
+
+    private final HttpClient leonbetsHttpClient;
+
+    @Value("${spring.parser.url.base}")
+    private String baseUrl;
+
+    @Value("${webclient.warmup.connections:2}")
+    private int warmupConnections;
+
+    @Value("${webclient.warmup.timeout.seconds:5}")
+    private long warmupTimeoutSeconds;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startedAt = System.nanoTime();
+        try {
+            leonbetsHttpClient.warmup()
+                    .thenMany(Flux.range(0, warmupConnections)
+                            .flatMap(i -> leonbetsHttpClient.head()
+                                    .uri(baseUrl)
+                                    .responseSingle((response, body) -> body.then(Mono.just(response.status())))
+                                    .onErrorResume(e -> {
+                                        log.warn("Connection warmup to {} failed: {}", baseUrl, e.getMessage());
+                                        return Mono.empty();
+                                    })))
+                    .then()
+                    .block(Duration.ofSeconds(warmupTimeoutSeconds));
+            log.info("Warmed up {} connection(s) to {} in {} ms", warmupConnections, baseUrl,
+                    Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        } catch (RuntimeException e) {
+            log.warn("HTTP client warmup did not finish: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package leonbets.test.parser.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import leonbets.test.parser.metrics.ParserMetrics;
+import leonbets.test.parser.output.ConsoleOutputSink;
+import leonbets.test.parser.output.FileOutputSink;
+import leonbets.test.parser.output.OutputFormat;
+import leonbets.test.parser.output.OutputSink;
+import leonbets.test.parser.output.StructuredFileOutputSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class OutputSinkConfig {
+
+    @Value("${spring.parser.output.type:console}")
+    private String outputType;
+
+    @Value("${spring.parser.output.file:leonbets.txt}")
+    private String outputFile;
+
+    @Value("${spring.parser.output.format:text}")
+    private String outputFormat;
+
+    @Value("${spring.parser.output.compression:none}")
+    private String compression;
+
+    @Value("${spring.parser.output.batch.size:256}")
+    private int batchSize;
+
+    @Value("${spring.parser.output.flush.interval.ms:100}")
+    private long flushIntervalMs;
+
+    @Value("${spring.parser.output.queue.capacity:4096}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "close")
+    public OutputSink outputSink(ParserMetrics metrics, ObjectMapper objectMapper) {
+        Duration flushInterval = Duration.ofMillis(flushIntervalMs);
+        OutputFormat format = OutputFormat.of(outputFormat);
+        boolean gzip = switch (compression) {
+            case "none" -> false;
+            case "gzip" -> true;
+            default -> throw new IllegalArgumentException("Unknown output compression: " + compression);
+        };
+        return switch (outputType) {
+            case "console" -> {
+                if (format.isStructured() || gzip) {
+                    throw new IllegalArgumentException("Console output only supports uncompressed text");
+                }
+                yield new ConsoleOutputSink(metrics, batchSize, flushInterval, queueCapacity);
+            }
+            case "file" -> format.isStructured()
+                    ? new StructuredFileOutputSink(Path.of(outputFile), format, gzip, objectMapper,
+                            metrics, batchSize, flushInterval, queueCapacity)
+                    : new FileOutputSink(Path.of(outputFile), gzip, metrics, batchSize, flushInterval, queueCapacity);
+            default -> throw new IllegalArgumentException("Unknown output type: " + outputType);
+        };
+    }
+}
@@ -1,8 +1,12 @@
 package leonbets.test.parser.boot;
 
+import leonbets.test.parser.delta.LeonbetsPoller;
+import leonbets.test.parser.schedule.PriorityRefreshScheduler;
+import leonbets.test.parser.store.OddsStoreRefresher;
 import leonbets.test.parser.util.LeonbetsParser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
@@ -14,16 +18,37 @@ import org.springframework.context.annotation.Configuration;
 public class ParserAutoStartConfig {
 
     private final LeonbetsParser parser;
+    private final ObjectProvider<LeonbetsPoller> poller;
+    private final ObjectProvider<OddsStoreRefresher> storeRefresher;
+    private final ObjectProvider<PriorityRefreshScheduler> refreshScheduler;
 
     @Value("${spring.autostart.parse:true}")
     private boolean autostart;
 
+    @Value("${spring.parser.poll.enabled:false}")
+    private boolean pollEnabled;
+
+    @Value("${spring.parser.poll.mode:cycle}")
+    private String pollMode;
+
+    @Value("${spring.parser.store.refresh.enabled:true}")
+    private boolean storeRefreshEnabled;
+
     @Bean
     public ApplicationRunner parserAutoRunner() {
         return args -> {
-            if (autostart) {
+            if (autostart && pollEnabled && "priority".equalsIgnoreCase(pollMode)) {
+                log.info("Auto-starting PriorityRefreshScheduler in priority polling mode...");
+                refreshScheduler.getObject().start();
+            } else if (autostart && pollEnabled) {
+                log.info("Auto-starting LeonbetsPoller in incremental polling mode...");
+                poller.getObject().start();
+            } else if (autostart) {
                 log.info("Auto-starting LeonbetsParser on startup...");
                 parser.parse();
+            } else if (storeRefreshEnabled) {
+                log.info("LeonbetsParser autostart is disabled, refreshing odds store in background.");
+                storeRefresher.getObject().start();
             } else {
                 log.info("LeonbetsParser autostart is disabled.");
             }
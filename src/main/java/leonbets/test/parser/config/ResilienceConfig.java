@@ -0,0 +1,83 @@
+package leonbets.test.parser.config;
+
+import leonbets.test.parser.client.CircuitPolicy;
+import leonbets.test.parser.client.HedgePolicy;
+import leonbets.test.parser.client.RetryBudget;
+import leonbets.test.parser.client.RetryPolicy;
+import leonbets.test.parser.client.UpstreamResilience;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Configuration
+public class ResilienceConfig {
+
+    @Value("${spring.parser.retry.max.attempts:3}")
+    private int maxAttempts;
+
+    @Value("${spring.parser.retry.backoff.min.ms:50}")
+    private long minBackoffMs;
+
+    @Value("${spring.parser.retry.backoff.max.ms:1000}")
+    private long maxBackoffMs;
+
+    @Value("${spring.parser.retry.jitter:0.5}")
+    private double jitter;
+
+    @Value("${spring.parser.retry.budget.ratio:0.2}")
+    private double retryBudgetRatio;
+
+    @Value("${spring.parser.retry.budget.min.per.second:5}")
+    private int retryBudgetMinPerSecond;
+
+    @Value("${spring.parser.circuit.window:50}")
+    private int circuitWindow;
+
+    @Value("${spring.parser.circuit.min.calls:20}")
+    private int circuitMinimumCalls;
+
+    @Value("${spring.parser.circuit.failure.rate:0.5}")
+    private double circuitFailureRate;
+
+    @Value("${spring.parser.circuit.open.seconds:10}")
+    private long circuitOpenSeconds;
+
+    @Value("${spring.parser.circuit.half.open.calls:3}")
+    private int circuitHalfOpenCalls;
+
+    @Value("${spring.parser.hedge.endpoints:markets}")
+    private String hedgedEndpoints;
+
+    @Value("${spring.parser.hedge.quantile:0.95}")
+    private double hedgeQuantile;
+
+    @Value("${spring.parser.hedge.min.delay.ms:20}")
+    private long minHedgeDelayMs;
+
+    @Value("${spring.parser.hedge.min.samples:20}")
+    private int hedgeMinSamples;
+
+    @Value("${spring.parser.hedge.budget.ratio:0.1}")
+    private double hedgeBudgetRatio;
+
+    @Bean
+    public UpstreamResilience upstreamResilience() {
+        Set<String> hedged = Arrays.stream(hedgedEndpoints.split(","))
+                .map(String::trim)
+                .filter(endpoint -> !endpoint.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+
+        return new UpstreamResilience(
+                new RetryPolicy(maxAttempts, Duration.ofMillis(minBackoffMs), Duration.ofMillis(maxBackoffMs), jitter,
+                        new RetryBudget(retryBudgetRatio, retryBudgetMinPerSecond)),
+                new CircuitPolicy(circuitWindow, circuitMinimumCalls, circuitFailureRate,
+                        Duration.ofSeconds(circuitOpenSeconds), circuitHalfOpenCalls),
+                new HedgePolicy(hedged, hedgeQuantile, Duration.ofMillis(minHedgeDelayMs), hedgeMinSamples,
+                        new RetryBudget(hedgeBudgetRatio, 0)));
+    }
+}
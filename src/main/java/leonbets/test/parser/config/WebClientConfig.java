@@ -1,14 +1,25 @@
 package leonbets.test.parser.config;
 
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.tcp.SslProvider;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebClientConfig {
@@ -19,15 +30,109 @@ public class WebClientConfig {
     @Value("${webclient.max.memory.mb:5}")
     private int maxMemoryMb;
 
+    @Value("${webclient.protocols:http11,h2}")
+    private String protocols;
+
+    @Value("${webclient.compression:true}")
+    private boolean compression;
+
+    @Value("${webclient.connect.timeout.ms:3000}")
+    private int connectTimeoutMs;
+
+    @Value("${webclient.handshake.timeout.ms:5000}")
+    private long handshakeTimeoutMs;
+
+    @Value("${webclient.read.timeout.seconds:10}")
+    private int readTimeoutSeconds;
+
+    @Value("${webclient.write.timeout.seconds:5}")
+    private int writeTimeoutSeconds;
+
+    @Value("${webclient.pool.max.connections:32}")
+    private int maxConnections;
+
+    @Value("${webclient.pool.pending.acquire.max:-1}")
+    private int pendingAcquireMax;
+
+    @Value("${webclient.pool.pending.acquire.timeout.seconds:10}")
+    private long pendingAcquireTimeoutSeconds;
+
+    @Value("${webclient.pool.max.idle.seconds:30}")
+    private long maxIdleSeconds;
+
+    @Value("${webclient.pool.max.life.seconds:300}")
+    private long maxLifeSeconds;
+
+    @Value("${webclient.pool.evict.interval.seconds:15}")
+    private long evictIntervalSeconds;
+
+    @Value("${webclient.pool.metrics:true}")
+    private boolean poolMetrics;
+
+    @Value("${webclient.dns.cache.max.ttl.seconds:300}")
+    private long dnsCacheMaxTtlSeconds;
+
+    @Value("${webclient.dns.cache.negative.ttl.seconds:5}")
+    private long dnsCacheNegativeTtlSeconds;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider leonbetsConnectionProvider() {
+        return ConnectionProvider.builder("leonbets")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(Duration.ofSeconds(pendingAcquireTimeoutSeconds))
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .maxLifeTime(Duration.ofSeconds(maxLifeSeconds))
+                .evictInBackground(Duration.ofSeconds(evictIntervalSeconds))
+                .lifo()
+                .metrics(poolMetrics)
+                .build();
+    }
+
     @Bean
-    public WebClient webClient() {
-        HttpClient httpClient = HttpClient.create()
-                .responseTimeout(Duration.ofSeconds(responseTimeoutInSeconds));
+    public HttpClient leonbetsHttpClient(ConnectionProvider leonbetsConnectionProvider) {
+        HttpProtocol[] httpProtocols = httpProtocols();
+        boolean h2 = Arrays.asList(httpProtocols).contains(HttpProtocol.H2);
+        SslProvider.GenericSslContextSpec<?> sslContext = h2
+                ? Http2SslContextSpec.forClient()
+                : Http11SslContextSpec.forClient();
 
+        return HttpClient.create(leonbetsConnectionProvider)
+                .protocol(httpProtocols)
+                .secure(spec -> spec
+                        .sslContext(sslContext)
+                        .handshakeTimeout(Duration.ofMillis(handshakeTimeoutMs)))
+                .compress(compression)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .resolver(spec -> spec
+                        .cacheMaxTimeToLive(Duration.ofSeconds(dnsCacheMaxTtlSeconds))
+                        .cacheNegativeTimeToLive(Duration.ofSeconds(dnsCacheNegativeTtlSeconds)))
+                .responseTimeout(Duration.ofSeconds(responseTimeoutInSeconds))
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(readTimeoutSeconds, TimeUnit.SECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(writeTimeoutSeconds, TimeUnit.SECONDS)));
+    }
+
+    @Bean
+    public WebClient webClient(HttpClient leonbetsHttpClient) {
         return WebClient.builder()
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .clientConnector(new ReactorClientHttpConnector(leonbetsHttpClient))
                 .codecs(config -> config.defaultCodecs().maxInMemorySize(maxMemoryMb * 1024 * 1024))
                 .defaultHeader("Accept", MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
-}
\ No newline at end of file
+
+    private HttpProtocol[] httpProtocols() {
+        return Arrays.stream(protocols.split(","))
+                .map(String::trim)
+                .map(protocol -> switch (protocol.toLowerCase(Locale.ROOT)) {
+                    case "http11", "http/1.1" -> HttpProtocol.HTTP11;
+                    case "h2" -> HttpProtocol.H2;
+                    case "h2c" -> HttpProtocol.H2C;
+                    default -> throw new IllegalArgumentException("Unknown HTTP protocol: " + protocol);
+                })
+                .toArray(HttpProtocol[]::new);
+    }
+}
@@ -0,0 +1,41 @@
+package leonbets.test.parser.controller;
+
+import leonbets.test.parser.analytics.AnalyticsStats;
+import leonbets.test.parser.analytics.MarketAlert;
+import leonbets.test.parser.analytics.MarketAnalytics;
+import leonbets.test.parser.analytics.MarketStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequiredArgsConstructor
+public class AnalyticsController {
+    private final MarketAnalytics analytics;
+
+    @GetMapping("/api/analytics/markets")
+    public List<MarketStats> getMarkets(@RequestParam(required = false) Long eventId) {
+        return analytics.markets(eventId);
+    }
+
+    @GetMapping("/api/stats/analytics")
+    public AnalyticsStats getAnalyticsStats() {
+        return analytics.stats();
+    }
+
+    @GetMapping(value = "/api/analytics/alerts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<MarketAlert>> streamAlerts() {
+        return analytics.alerts()
+                .onBackpressureDrop()
+                .map(alert -> ServerSentEvent.builder(alert)
+                        .event(alert.type().name().toLowerCase(Locale.ROOT))
+                        .build());
+    }
+}
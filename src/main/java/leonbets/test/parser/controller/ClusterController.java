@@ -0,0 +1,76 @@
+package leonbets.test.parser.controller;
+
+import leonbets.test.parser.dto.EventView;
+import leonbets.test.parser.shard.Member;
+import leonbets.test.parser.shard.ShardCoordinator;
+import leonbets.test.parser.store.OddsStore;
+import leonbets.test.parser.util.ParseFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.parser.shard.enabled", havingValue = "true")
+public class ClusterController {
+    private final OddsStore store;
+    private final ShardCoordinator shards;
+    private final WebClient webClient;
+
+    @GetMapping(value = "/api/cluster/sports", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EventView> streamClusterSports(@RequestParam(required = false) String sport,
+                                               @RequestParam(required = false) String region,
+                                               @RequestParam(required = false) String league,
+                                               @RequestParam(defaultValue = "true") boolean topOnly,
+                                               @RequestParam(required = false) Integer eventLimit) {
+        ParseFilter filter;
+        try {
+            filter = new ParseFilter(sport, region, league, topOnly, eventLimit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        List<Flux<EventView>> sources = new ArrayList<>();
+        sources.add(store.read(filter).map(EventView::from));
+        for (Member peer : shards.peers()) {
+            sources.add(fetchPeer(peer, sport, region, league, topOnly, eventLimit));
+        }
+        return Flux.merge(sources);
+    }
+
+    private Flux<EventView> fetchPeer(Member peer, String sport, String region, String league, boolean topOnly,
+                                      Integer eventLimit) {
+        String uri = UriComponentsBuilder.fromUriString(peer.url())
+                .path("/api/sports")
+                .queryParamIfPresent("sport", Optional.ofNullable(sport))
+                .queryParamIfPresent("region", Optional.ofNullable(region))
+                .queryParamIfPresent("league", Optional.ofNullable(league))
+                .queryParam("topOnly", topOnly)
+                .queryParamIfPresent("eventLimit", Optional.ofNullable(eventLimit))
+                .encode()
+                .toUriString();
+        return webClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(EventView.class)
+                .onErrorResume(e -> {
+                    log.error("Failed to read shard {} at {}: {}", peer.id(), peer.url(), e.getMessage());
+                    return Flux.empty();
+                });
+    }
+}
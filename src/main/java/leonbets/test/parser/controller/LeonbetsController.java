@@ -1,19 +1,66 @@
 package leonbets.test.parser.controller;
 
-import leonbets.test.parser.util.LeonbetsParserReactive;
+import leonbets.test.parser.dto.EventView;
+import leonbets.test.parser.store.OddsStore;
 import leonbets.test.parser.util.LeonbetsPrinter;
+import leonbets.test.parser.util.ParseFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 
 @RestController
 @RequiredArgsConstructor
 public class LeonbetsController {
-    private final LeonbetsParserReactive parser;
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final String STREAM_SMILE = "application/stream+x-jackson-smile";
+
+    private final OddsStore store;
 
     @GetMapping("/api/sports")
-    public Flux<LeonbetsPrinter> getParsedSports() {
-        return parser.parse();
+    public Flux<LeonbetsPrinter> getParsedSports(@RequestParam(required = false) String sport,
+                                                 @RequestParam(required = false) String region,
+                                                 @RequestParam(required = false) String league,
+                                                 @RequestParam(defaultValue = "true") boolean topOnly,
+                                                 @RequestParam(required = false) Integer eventLimit) {
+        return store.read(filter(sport, region, league, topOnly, eventLimit));
+    }
+
+    @GetMapping(value = "/api/sports",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, STREAM_SMILE, SMILE, MediaType.APPLICATION_CBOR_VALUE})
+    public Flux<EventView> streamParsedSports(@RequestParam(required = false) String sport,
+                                              @RequestParam(required = false) String region,
+                                              @RequestParam(required = false) String league,
+                                              @RequestParam(defaultValue = "true") boolean topOnly,
+                                              @RequestParam(required = false) Integer eventLimit) {
+        return store.read(filter(sport, region, league, topOnly, eventLimit))
+                .map(EventView::from);
+    }
+
+    @GetMapping(value = "/api/sports", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<EventView>> streamParsedSportEvents(
+            @RequestParam(required = false) String sport,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String league,
+            @RequestParam(defaultValue = "true") boolean topOnly,
+            @RequestParam(required = false) Integer eventLimit) {
+        return streamParsedSports(sport, region, league, topOnly, eventLimit)
+                .map(view -> ServerSentEvent.builder(view)
+                        .id(String.valueOf(view.id()))
+                        .event("event")
+                        .build());
+    }
+
+    private ParseFilter filter(String sport, String region, String league, boolean topOnly, Integer eventLimit) {
+        try {
+            return new ParseFilter(sport, region, league, topOnly, eventLimit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 }
@@ -0,0 +1,34 @@
+package leonbets.test.parser.controller;
+
+import leonbets.test.parser.journal.OddsJournal;
+import leonbets.test.parser.journal.OddsTick;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.parser.journal.enabled", havingValue = "true")
+public class OddsHistoryController {
+    private final OddsJournal journal;
+
+    @GetMapping("/api/history/{eventId}")
+    public Flux<OddsTick> getEventHistory(@PathVariable long eventId,
+                                          @RequestParam(defaultValue = "0") long from,
+                                          @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to) {
+        return Flux.defer(() -> {
+                    List<OddsTick> ticks = new ArrayList<>();
+                    journal.reader().history(eventId, from, to, ticks::add);
+                    return Flux.fromIterable(ticks);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
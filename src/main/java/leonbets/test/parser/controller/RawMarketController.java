@@ -0,0 +1,75 @@
+package leonbets.test.parser.controller;
+
+import leonbets.test.parser.client.LeonbetsClient;
+import leonbets.test.parser.dto.RawEventEnvelope;
+import leonbets.test.parser.util.LeonbetsParserReactive;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import leonbets.test.parser.util.ParseFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+public class RawMarketController {
+    private final LeonbetsParserReactive parser;
+    private final LeonbetsClient client;
+
+    @Value("${spring.parser.raw.concurrency:8}")
+    private int concurrency;
+
+    @GetMapping(value = "/api/raw/markets", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<DataBuffer> streamRawMarkets(@RequestParam(required = false) String sport,
+                                             @RequestParam(required = false) String region,
+                                             @RequestParam(required = false) String league,
+                                             @RequestParam(defaultValue = "true") boolean topOnly,
+                                             @RequestParam(required = false) Integer eventLimit) {
+        ParseFilter filter = filter(sport, region, league, topOnly, eventLimit);
+        Flux<DataBuffer> elements = Flux.defer(() -> {
+            AtomicBoolean first = new AtomicBoolean(true);
+            return parser.events(filter)
+                    .flatMapSequential(this::fetch, concurrency)
+                    .concatMap(raw -> RawEventEnvelope.element(raw.printer(), first.getAndSet(false), raw.payload()));
+        });
+        return RawEventEnvelope.array(elements)
+                .doOnDiscard(RawEvent.class, RawEvent::drain)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private Mono<RawEvent> fetch(LeonbetsPrinter printer) {
+        return client.streamMarkets(printer.getEvent().id())
+                .map(payload -> new RawEvent(printer, payload))
+                .onErrorResume(e -> {
+                    log.error("Failed to stream markets for eventId={}: {}", printer.getEvent().id(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private ParseFilter filter(String sport, String region, String league, boolean topOnly, Integer eventLimit) {
+        try {
+            return new ParseFilter(sport, region, league, topOnly, eventLimit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private record RawEvent(LeonbetsPrinter printer, Flux<DataBuffer> payload) {
+        void drain() {
+            payload.subscribe(DataBufferUtils::release, e -> {
+            });
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package leonbets.test.parser.controller;
+
+import leonbets.test.parser.schedule.PriorityRefreshScheduler;
+import leonbets.test.parser.schedule.ScheduleStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class ScheduleController {
+    private final PriorityRefreshScheduler refreshScheduler;
+
+    @GetMapping("/api/stats/schedule")
+    public ScheduleStats getScheduleStats() {
+        return refreshScheduler.stats();
+    }
+}
@@ -0,0 +1,18 @@
+package leonbets.test.parser.controller;
+
+import leonbets.test.parser.selection.SelectionIndex;
+import leonbets.test.parser.selection.SelectionStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class SelectionController {
+    private final SelectionIndex selection;
+
+    @GetMapping("/api/stats/selection")
+    public SelectionStats getSelectionStats() {
+        return selection.stats();
+    }
+}
@@ -0,0 +1,18 @@
+package leonbets.test.parser.controller;
+
+import leonbets.test.parser.shard.ShardCoordinator;
+import leonbets.test.parser.shard.ShardStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class ShardController {
+    private final ShardCoordinator shards;
+
+    @GetMapping("/api/stats/shard")
+    public ShardStats getShardStats() {
+        return shards.stats();
+    }
+}
@@ -0,0 +1,18 @@
+package leonbets.test.parser.controller;
+
+import leonbets.test.parser.store.OddsStore;
+import leonbets.test.parser.store.StoreStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class StoreController {
+    private final OddsStore store;
+
+    @GetMapping("/api/stats/store")
+    public StoreStats getStoreStats() {
+        return store.stats();
+    }
+}
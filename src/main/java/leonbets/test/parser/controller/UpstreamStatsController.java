@@ -0,0 +1,44 @@
+package leonbets.test.parser.controller;
+
+import leonbets.test.parser.client.AdaptiveConcurrencyLimiter;
+import leonbets.test.parser.client.CacheStats;
+import leonbets.test.parser.client.CpuStage;
+import leonbets.test.parser.client.CpuStageStats;
+import leonbets.test.parser.client.LeonbetsClient;
+import leonbets.test.parser.client.LimiterStats;
+import leonbets.test.parser.client.ResilienceStats;
+import leonbets.test.parser.client.UpstreamResilience;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class UpstreamStatsController {
+    private final LeonbetsClient client;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final UpstreamResilience resilience;
+    private final CpuStage cpuStage;
+
+    @GetMapping("/api/stats/cache")
+    public List<CacheStats> getCacheStats() {
+        return client.cacheStats();
+    }
+
+    @GetMapping("/api/stats/cpu")
+    public CpuStageStats getCpuStageStats() {
+        return cpuStage.stats();
+    }
+
+    @GetMapping("/api/stats/limiter")
+    public LimiterStats getLimiterStats() {
+        return limiter.stats();
+    }
+
+    @GetMapping("/api/stats/resilience")
+    public List<ResilienceStats> getResilienceStats() {
+        return resilience.stats();
+    }
+}
@@ -0,0 +1,74 @@
+package leonbets.test.parser.delta;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.output.OutputSink;
+import leonbets.test.parser.output.StructuredOutputSink;
+import leonbets.test.parser.util.FormatBuffers;
+import leonbets.test.parser.util.LeonbetsPrinter;
+
+import java.util.List;
+import java.util.Objects;
+
+public record EventDelta(
+        String sportName,
+        String regionName,
+        String leagueName,
+        Event event,
+        List<RunnerChange> changes
+) {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final FormatBuffers BUFFERS = new FormatBuffers();
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public void writeTo(OutputSink sink) {
+        if (sink instanceof StructuredOutputSink structured) {
+            structured.writeValue(this);
+            return;
+        }
+        StringBuilder buffer = BUFFERS.acquire();
+        try {
+            sink.write(formatTo(buffer).append(LINE_SEPARATOR));
+        } finally {
+            BUFFERS.release(buffer);
+        }
+    }
+
+    public String generateFormattedOutput() {
+        StringBuilder buffer = BUFFERS.acquire();
+        try {
+            return formatTo(buffer).toString();
+        } finally {
+            BUFFERS.release(buffer);
+        }
+    }
+
+    public StringBuilder formatTo(StringBuilder out) {
+        out.append(sportName).append(", ").append(regionName).append(' ').append(leagueName).append(LINE_SEPARATOR);
+        out.append('\t').append(event.name())
+                .append(", ").append(LeonbetsPrinter.formatKickoff(event.kickoff())).append(" UTC, ")
+                .append(event.id()).append(LINE_SEPARATOR);
+
+        String currentMarket = null;
+        for (RunnerChange change : changes) {
+            if (!Objects.equals(currentMarket, change.marketName())) {
+                currentMarket = change.marketName();
+                out.append("\t\t").append(currentMarket).append(LINE_SEPARATOR);
+            }
+            Runner runner = change.runner();
+            out.append("\t\t\t").append(runner.name()).append(", ");
+            switch (change.type()) {
+                case OPENED -> out.append(runner.priceStr());
+                case CHANGED -> out.append(change.previousPrice()).append(" -> ").append(runner.priceStr());
+                case CLOSED -> out.append("closed");
+            }
+            out.append(", ").append(runner.id()).append(LINE_SEPARATOR);
+        }
+        return out;
+    }
+}
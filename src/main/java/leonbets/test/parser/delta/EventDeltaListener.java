@@ -0,0 +1,9 @@
+package leonbets.test.parser.delta;
+
+public interface EventDeltaListener {
+
+    void onDelta(EventDelta delta, long timestamp);
+
+    default void onCycleCompleted(long cycle) {
+    }
+}
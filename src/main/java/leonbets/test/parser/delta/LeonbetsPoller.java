@@ -0,0 +1,89 @@
+package leonbets.test.parser.delta;
+
+import jakarta.annotation.PreDestroy;
+import leonbets.test.parser.output.OutputSink;
+import leonbets.test.parser.util.LeonbetsParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LeonbetsPoller {
+
+    private final LeonbetsParser parser;
+    private final OddsDeltaTracker tracker;
+    private final OutputSink outputSink;
+    private final ObjectProvider<EventDeltaListener> listenerProvider;
+
+    @Value("${spring.parser.poll.interval.seconds:10}")
+    private long intervalSeconds;
+
+    @Value("${spring.parser.poll.evict.cycles:3}")
+    private long evictAfterCycles;
+
+    private final AtomicLong cycles = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+    private List<EventDeltaListener> listeners = List.of();
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        listeners = listenerProvider.orderedStream().toList();
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("leonbets-poller").factory());
+        scheduler.scheduleWithFixedDelay(this::poll, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    void poll() {
+        long cycle = cycles.incrementAndGet();
+        long startedAt = System.nanoTime();
+        long timestamp = System.currentTimeMillis();
+        LongAdder changedEvents = new LongAdder();
+        LongAdder changedRunners = new LongAdder();
+
+        try {
+            parser.parse(printer -> {
+                EventDelta delta = tracker.track(printer, cycle);
+                if (!delta.isEmpty()) {
+                    changedEvents.increment();
+                    changedRunners.add(delta.changes().size());
+                    delta.writeTo(outputSink);
+                    for (EventDeltaListener listener : listeners) {
+                        listener.onDelta(delta, timestamp);
+                    }
+                }
+            });
+            outputSink.flush();
+            for (EventDeltaListener listener : listeners) {
+                listener.onCycleCompleted(cycle);
+            }
+            int evicted = tracker.evictOlderThan(cycle - evictAfterCycles + 1);
+
+            log.info("Polling cycle {} finished in {} ms: {} runner changes in {} events, {} tracked, {} evicted",
+                    cycle, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt),
+                    changedRunners.sum(), changedEvents.sum(), tracker.size(), evicted);
+        } catch (Exception e) {
+            log.error("Polling cycle {} failed: {}", cycle, e.getMessage(), e);
+        }
+    }
+}
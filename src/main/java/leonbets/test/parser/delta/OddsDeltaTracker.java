@@ -0,0 +1,136 @@
+package leonbets.test.parser.delta;
+
+import leonbets.test.parser.snapshot.CompactEvent;
+import leonbets.test.parser.snapshot.NameTable;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class OddsDeltaTracker {
+
+    private static final Comparator<RunnerChange> BY_MARKET_NAME = Comparator.comparing(RunnerChange::marketName);
+
+    private static final int MIN_NAMES = 4096;
+
+    private final Map<Long, EventSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final ReadWriteLock namesLock = new ReentrantReadWriteLock();
+    private volatile NameTable names = new NameTable();
+    private volatile int namesLimit = MIN_NAMES;
+
+    public EventDelta track(LeonbetsPrinter printer, long cycle) {
+        Long eventId = printer.getEvent().id();
+        List<RunnerChange> changes = new ArrayList<>();
+
+        if (printer.getMarketEnvelope() != null && printer.getMarketEnvelope().markets() != null) {
+            namesLock.readLock().lock();
+            try {
+                NameTable table = names;
+                CompactEvent current = CompactEvent.of(printer, table);
+                EventSnapshot previous = snapshots.put(eventId, new EventSnapshot(cycle, current));
+                diff(previous == null ? null : previous.event(), current, table, changes);
+            } finally {
+                namesLock.readLock().unlock();
+            }
+            changes.sort(BY_MARKET_NAME);
+            if (names.size() > namesLimit) {
+                compactNames();
+            }
+        }
+
+        return new EventDelta(printer.getSportName(), printer.getRegionName(), printer.getLeagueName(),
+                printer.getEvent(), changes);
+    }
+
+    public int evictOlderThan(long cycle) {
+        int before = snapshots.size();
+        snapshots.values().removeIf(snapshot -> snapshot.cycle() < cycle);
+        return before - snapshots.size();
+    }
+
+    public void evict(Long eventId) {
+        snapshots.remove(eventId);
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * Names no longer referenced by a tracked snapshot stay interned until the table grows past twice its size
+     * after the last compaction; then the live snapshots are re-interned into a fresh table.
+     */
+    private void compactNames() {
+        namesLock.writeLock().lock();
+        try {
+            NameTable current = names;
+            if (current.size() <= namesLimit) {
+                return;
+            }
+            NameTable compacted = new NameTable();
+            snapshots.replaceAll((eventId, snapshot) ->
+                    new EventSnapshot(snapshot.cycle(), snapshot.event().reintern(current, compacted)));
+            names = compacted;
+            namesLimit = Math.max(MIN_NAMES, 2 * compacted.size());
+        } finally {
+            namesLock.writeLock().unlock();
+        }
+    }
+
+    private static Map<RunnerKey, Integer> openRunners(CompactEvent event) {
+        Map<RunnerKey, Integer> runners = new LinkedHashMap<>();
+        if (event == null) {
+            return runners;
+        }
+        for (int m = 0; m < event.marketCount(); m++) {
+            if (!event.isMarketOpen(m)) {
+                continue;
+            }
+            for (int r = event.firstRunner(m); r < event.endRunner(m); r++) {
+                if (event.isRunnerOpen(r)) {
+                    runners.put(new RunnerKey(event.marketName(m), event.runnerId(r)), r);
+                }
+            }
+        }
+        return runners;
+    }
+
+    private static void diff(CompactEvent before, CompactEvent after, NameTable names, List<RunnerChange> changes) {
+        Map<RunnerKey, Integer> previous = openRunners(before);
+        Map<RunnerKey, Integer> current = openRunners(after);
+
+        for (Map.Entry<RunnerKey, Integer> entry : current.entrySet()) {
+            Integer was = previous.get(entry.getKey());
+            int runner = entry.getValue();
+            String marketName = names.name(entry.getKey().marketName());
+            if (was == null) {
+                changes.add(new RunnerChange(marketName, after.runner(runner, names), null,
+                        RunnerChange.Type.OPENED));
+            } else if (!after.samePrice(runner, before, was)) {
+                changes.add(new RunnerChange(marketName, after.runner(runner, names), before.price(was, names),
+                        RunnerChange.Type.CHANGED));
+            }
+        }
+        for (Map.Entry<RunnerKey, Integer> entry : previous.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                int runner = entry.getValue();
+                changes.add(new RunnerChange(names.name(entry.getKey().marketName()), before.runner(runner, names),
+                        before.price(runner, names), RunnerChange.Type.CLOSED));
+            }
+        }
+    }
+
+    private record RunnerKey(int marketName, long runnerId) {
+    }
+
+    private record EventSnapshot(long cycle, CompactEvent event) {
+    }
+}
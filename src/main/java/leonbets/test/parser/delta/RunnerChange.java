@@ -0,0 +1,16 @@
+package leonbets.test.parser.delta;
+
+import leonbets.test.parser.entity.Runner;
+
+public record RunnerChange(
+        String marketName,
+        Runner runner,
+        String previousPrice,
+        Type type
+) {
+    public enum Type {
+        OPENED,
+        CHANGED,
+        CLOSED
+    }
+}
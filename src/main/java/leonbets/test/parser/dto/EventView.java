@@ -0,0 +1,35 @@
+package leonbets.test.parser.dto;
+
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.entity.Market;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.util.LeonbetsPrinter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record EventView(
+        String sport,
+        String region,
+        String league,
+        Long id,
+        String name,
+        Long kickoff,
+        List<MarketView> markets
+) {
+    public static EventView from(LeonbetsPrinter printer) {
+        Event event = printer.getEvent();
+        MarketEnvelope envelope = printer.getMarketEnvelope();
+        List<MarketView> markets = new ArrayList<>();
+        if (envelope != null && envelope.markets() != null) {
+            for (Market market : envelope.markets()) {
+                MarketView view = MarketView.from(market);
+                if (view != null) {
+                    markets.add(view);
+                }
+            }
+        }
+        return new EventView(printer.getSportName(), printer.getRegionName(), printer.getLeagueName(),
+                event.id(), event.name(), event.kickoff(), markets);
+    }
+}
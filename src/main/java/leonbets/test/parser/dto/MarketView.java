@@ -0,0 +1,25 @@
+package leonbets.test.parser.dto;
+
+import leonbets.test.parser.entity.Market;
+import leonbets.test.parser.entity.Runner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record MarketView(
+        String name,
+        List<RunnerView> runners
+) {
+    public static MarketView from(Market market) {
+        if (!Boolean.TRUE.equals(market.open()) || market.runners() == null) {
+            return null;
+        }
+        List<RunnerView> runners = new ArrayList<>(market.runners().size());
+        for (Runner runner : market.runners()) {
+            if (Boolean.TRUE.equals(runner.open())) {
+                runners.add(RunnerView.from(runner));
+            }
+        }
+        return runners.isEmpty() ? null : new MarketView(market.name(), runners);
+    }
+}
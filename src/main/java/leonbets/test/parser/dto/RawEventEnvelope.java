@@ -0,0 +1,94 @@
+package leonbets.test.parser.dto;
+
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class RawEventEnvelope {
+
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_END = {']'};
+    private static final byte[] OBJECT_END = {'}'};
+    private static final byte[] NULL_OBJECT_END = {'n', 'u', 'l', 'l', '}'};
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private RawEventEnvelope() {
+    }
+
+    public static Flux<DataBuffer> array(Flux<DataBuffer> elements) {
+        return Flux.concat(Mono.fromSupplier(() -> wrap(ARRAY_START)), elements,
+                Mono.fromSupplier(() -> wrap(ARRAY_END)));
+    }
+
+    /**
+     * An upstream body without any bytes is written as {@code "payload":null} so the element stays valid JSON.
+     */
+    public static Flux<DataBuffer> element(LeonbetsPrinter printer, boolean first, Flux<DataBuffer> payload) {
+        return Flux.defer(() -> {
+            AtomicBoolean written = new AtomicBoolean();
+            return Flux.concat(Mono.fromSupplier(() -> wrap(header(printer, first))),
+                    payload.doOnNext(buffer -> {
+                        if (buffer.readableByteCount() > 0) {
+                            written.set(true);
+                        }
+                    }),
+                    Mono.fromSupplier(() -> wrap(written.get() ? OBJECT_END : NULL_OBJECT_END)));
+        });
+    }
+
+    public static byte[] header(LeonbetsPrinter printer, boolean first) {
+        Event event = printer.getEvent();
+        StringBuilder out = new StringBuilder(160);
+        if (!first) {
+            out.append(',');
+        }
+        out.append("{\"sport\":");
+        appendString(out, printer.getSportName());
+        out.append(",\"region\":");
+        appendString(out, printer.getRegionName());
+        out.append(",\"league\":");
+        appendString(out, printer.getLeagueName());
+        out.append(",\"id\":").append(event.id());
+        out.append(",\"name\":");
+        appendString(out, event.name());
+        out.append(",\"kickoff\":").append(event.kickoff());
+        out.append(",\"payload\":");
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendString(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private static DataBuffer wrap(byte[] bytes) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+}
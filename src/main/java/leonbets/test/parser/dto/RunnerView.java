@@ -0,0 +1,13 @@
+package leonbets.test.parser.dto;
+
+import leonbets.test.parser.entity.Runner;
+
+public record RunnerView(
+        Long id,
+        String name,
+        String price
+) {
+    public static RunnerView from(Runner runner) {
+        return new RunnerView(runner.id(), runner.name(), runner.priceStr());
+    }
+}
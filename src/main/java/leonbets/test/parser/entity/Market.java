@@ -3,6 +3,7 @@ package leonbets.test.parser.entity;
 import java.util.List;
 
 public record Market(
+        Long id,
         String name,
         Boolean open,
         List<Runner> runners
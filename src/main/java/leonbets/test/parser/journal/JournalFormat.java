@@ -0,0 +1,63 @@
+package leonbets.test.parser.journal;
+
+import java.nio.ByteBuffer;
+
+final class JournalFormat {
+
+    static final int SEGMENT_MAGIC = 0x4C424F4A;
+    static final int SEGMENT_VERSION = 1;
+    static final int SEGMENT_HEADER_BYTES = 8;
+
+    static final int BLOCK_MAGIC = 0x4C424F42;
+    static final int BLOOM_BYTES = 256;
+    static final int BLOCK_HEADER_BYTES = 4 + 4 + 4 + 8 + 8 + BLOOM_BYTES;
+
+    static final int FLAG_OPEN = 1;
+    static final int FLAG_NULL_PRICE = 1 << 1;
+    static final int FLAG_TEXT_PRICE = 1 << 2;
+    static final int SCALE_SHIFT = 3;
+
+    static final String SEGMENT_PREFIX = "odds-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final int BLOOM_BITS = BLOOM_BYTES * 8;
+    private static final int BLOOM_HASHES = 3;
+
+    private JournalFormat() {
+    }
+
+    static void addToBloom(byte[] bloom, long eventId) {
+        long hash = mix(eventId);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (int) ((hash >>> (i * 21)) & (BLOOM_BITS - 1));
+            bloom[bit >>> 3] |= (byte) (1 << (bit & 7));
+        }
+    }
+
+    static boolean mightContain(ByteBuffer buffer, int bloomOffset, long eventId) {
+        long hash = mix(eventId);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (int) ((hash >>> (i * 21)) & (BLOOM_BITS - 1));
+            if ((buffer.get(bloomOffset + (bit >>> 3)) & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,351 @@
+package leonbets.test.parser.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import leonbets.test.parser.delta.EventDelta;
+import leonbets.test.parser.delta.EventDeltaListener;
+import leonbets.test.parser.delta.RunnerChange;
+import leonbets.test.parser.snapshot.DecimalOdds;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static leonbets.test.parser.journal.JournalFormat.*;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "spring.parser.journal.enabled", havingValue = "true")
+public class OddsJournal implements EventDeltaListener, AutoCloseable {
+
+    @Value("${spring.parser.journal.dir:journal}")
+    private String directoryName;
+
+    @Value("${spring.parser.journal.segment.max.mb:64}")
+    private long segmentMaxMb;
+
+    @Value("${spring.parser.journal.segment.max.age.minutes:60}")
+    private long segmentMaxAgeMinutes;
+
+    @Value("${spring.parser.journal.block.kb:64}")
+    private int blockKb;
+
+    @Value("${spring.parser.journal.retention.segments:0}")
+    private int retentionSegments;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Path directory;
+    private long segmentMaxBytes;
+    private long segmentMaxAgeMillis;
+    private int blockBytes;
+
+    private BlockEncoder block;
+    private FileChannel segment;
+    private long segmentCreatedAt;
+    private long lastSegmentName;
+    private volatile long ticks;
+
+    public OddsJournal() {
+    }
+
+    public OddsJournal(Path directory, long segmentMaxBytes, long segmentMaxAgeMillis, int blockBytes,
+                       int retentionSegments) {
+        this.directory = directory;
+        this.segmentMaxBytes = segmentMaxBytes;
+        this.segmentMaxAgeMillis = segmentMaxAgeMillis;
+        this.blockBytes = blockBytes;
+        this.retentionSegments = retentionSegments;
+        this.block = new BlockEncoder(blockBytes);
+    }
+
+    @PostConstruct
+    void init() {
+        directory = Path.of(directoryName);
+        segmentMaxBytes = segmentMaxMb * 1024 * 1024;
+        segmentMaxAgeMillis = TimeUnit.MINUTES.toMillis(segmentMaxAgeMinutes);
+        blockBytes = blockKb * 1024;
+        block = new BlockEncoder(blockBytes);
+        log.info("Odds journal enabled in {}", directory.toAbsolutePath());
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public OddsJournalReader reader() {
+        return new OddsJournalReader(directory);
+    }
+
+    public long ticks() {
+        return ticks;
+    }
+
+    @Override
+    public void onDelta(EventDelta delta, long timestamp) {
+        Long eventId = delta.event().id();
+        if (eventId == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (RunnerChange change : delta.changes()) {
+                if (change.runner().id() == null) {
+                    continue;
+                }
+                String price = change.type() == RunnerChange.Type.CLOSED
+                        ? change.previousPrice()
+                        : change.runner().priceStr();
+                append(timestamp, eventId, change.marketName(), change.runner().id(), price,
+                        change.type() != RunnerChange.Type.CLOSED);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onCycleCompleted(long cycle) {
+        flush();
+    }
+
+    public void append(OddsTick tick) {
+        lock.lock();
+        try {
+            append(tick.timestamp(), tick.eventId(), tick.market(), tick.runnerId(), tick.price(), tick.open());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void flush() {
+        lock.lock();
+        try {
+            writeBlock();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            writeBlock();
+            closeSegment();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void append(long timestamp, long eventId, String market, long runnerId, String price, boolean open) {
+        block.append(timestamp, eventId, market == null ? "" : market, runnerId, price, open);
+        ticks++;
+        if (block.size() >= blockBytes) {
+            writeBlock();
+        }
+    }
+
+    private void writeBlock() {
+        if (block.tickCount() == 0) {
+            return;
+        }
+        try {
+            ByteBuffer header = block.header();
+            ByteBuffer payload = block.payload();
+            long length = header.remaining() + payload.remaining();
+            rollIfNeeded(length);
+            ByteBuffer[] buffers = {header, payload};
+            while (header.hasRemaining() || payload.hasRemaining()) {
+                segment.write(buffers);
+            }
+        } catch (IOException e) {
+            log.error("Failed to write {} ticks to odds journal: {}", block.tickCount(), e.getMessage(), e);
+        } finally {
+            block.reset();
+        }
+    }
+
+    private void rollIfNeeded(long nextWrite) throws IOException {
+        long now = System.currentTimeMillis();
+        if (segment != null
+                && segment.size() + nextWrite <= segmentMaxBytes
+                && now - segmentCreatedAt < segmentMaxAgeMillis) {
+            return;
+        }
+        closeSegment();
+        Files.createDirectories(directory);
+        long name = Math.max(now, lastSegmentName + 1);
+        lastSegmentName = name;
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, name, SEGMENT_SUFFIX));
+        segment = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentCreatedAt = now;
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES).order(ByteOrder.BIG_ENDIAN)
+                .putInt(SEGMENT_MAGIC)
+                .putInt(SEGMENT_VERSION)
+                .flip();
+        while (header.hasRemaining()) {
+            segment.write(header);
+        }
+        log.debug("Odds journal rolled to {}", path.getFileName());
+        applyRetention();
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            segment = null;
+        }
+    }
+
+    private void applyRetention() throws IOException {
+        if (retentionSegments <= 0) {
+            return;
+        }
+        List<Path> segments = OddsJournalReader.segments(directory);
+        for (int i = 0; i < segments.size() - retentionSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    private static final class BlockEncoder {
+        private byte[] bytes;
+        private int size;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final byte[] bloom = new byte[BLOOM_BYTES];
+        private int tickCount;
+        private long firstTimestamp;
+        private long lastTimestamp;
+        private long previousTimestamp;
+        private long previousEventId;
+        private long previousRunnerId;
+
+        private BlockEncoder(int capacity) {
+            this.bytes = new byte[capacity + 1024];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int tickCount() {
+            return tickCount;
+        }
+
+        void append(long timestamp, long eventId, String market, long runnerId, String price, boolean open) {
+            if (tickCount == 0) {
+                firstTimestamp = timestamp;
+                lastTimestamp = timestamp;
+            }
+            firstTimestamp = Math.min(firstTimestamp, timestamp);
+            lastTimestamp = Math.max(lastTimestamp, timestamp);
+            tickCount++;
+            addToBloom(bloom, eventId);
+
+            writeVarLong(zigZag(timestamp - previousTimestamp));
+            writeVarLong(zigZag(eventId - previousEventId));
+            writeString(market);
+            writeVarLong(zigZag(runnerId - previousRunnerId));
+            previousTimestamp = timestamp;
+            previousEventId = eventId;
+            previousRunnerId = runnerId;
+
+            int flags = open ? FLAG_OPEN : 0;
+            if (price == null) {
+                writeByte(flags | FLAG_NULL_PRICE);
+                return;
+            }
+            byte scale = DecimalOdds.scale(price);
+            if (scale == DecimalOdds.UNPARSED) {
+                writeByte(flags | FLAG_TEXT_PRICE);
+                writeString(price);
+            } else {
+                writeByte(flags | (scale << SCALE_SHIFT));
+                writeVarLong(DecimalOdds.unscaled(price));
+            }
+        }
+
+        ByteBuffer header() {
+            return ByteBuffer.allocate(BLOCK_HEADER_BYTES).order(ByteOrder.BIG_ENDIAN)
+                    .putInt(BLOCK_MAGIC)
+                    .putInt(size)
+                    .putInt(tickCount)
+                    .putLong(firstTimestamp)
+                    .putLong(lastTimestamp)
+                    .put(bloom)
+                    .flip();
+        }
+
+        ByteBuffer payload() {
+            return ByteBuffer.wrap(bytes, 0, size);
+        }
+
+        void reset() {
+            size = 0;
+            tickCount = 0;
+            dictionary.clear();
+            Arrays.fill(bloom, (byte) 0);
+            previousTimestamp = 0;
+            previousEventId = 0;
+            previousRunnerId = 0;
+        }
+
+        private void writeString(String value) {
+            Integer id = dictionary.get(value);
+            if (id != null) {
+                writeVarLong(id + 1L);
+                return;
+            }
+            dictionary.put(value, dictionary.size());
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(0);
+            writeVarLong(utf8.length);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) value;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package leonbets.test.parser.journal;
+
+import leonbets.test.parser.snapshot.DecimalOdds;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static leonbets.test.parser.journal.JournalFormat.*;
+
+public class OddsJournalReader {
+
+    private final Path directory;
+
+    public OddsJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    public void scan(long fromMillis, long toMillis, Consumer<OddsTick> consumer) {
+        read(fromMillis, toMillis, false, 0, consumer);
+    }
+
+    public void history(long eventId, long fromMillis, long toMillis, Consumer<OddsTick> consumer) {
+        read(fromMillis, toMillis, true, eventId, consumer);
+    }
+
+    public List<OddsTick> history(long eventId) {
+        List<OddsTick> ticks = new ArrayList<>();
+        history(eventId, Long.MIN_VALUE, Long.MAX_VALUE, ticks::add);
+        return ticks;
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void read(long fromMillis, long toMillis, boolean byEvent, long eventId, Consumer<OddsTick> consumer) {
+        try {
+            for (Path segment : segments(directory)) {
+                readSegment(segment, fromMillis, toMillis, byEvent, eventId, consumer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read odds journal in " + directory, e);
+        }
+    }
+
+    private void readSegment(Path path, long fromMillis, long toMillis, boolean byEvent, long eventId,
+                             Consumer<OddsTick> consumer) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SEGMENT_HEADER_BYTES) {
+                return;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, Integer.MAX_VALUE));
+        }
+        if (buffer.getInt(0) != SEGMENT_MAGIC || buffer.getInt(4) != SEGMENT_VERSION) {
+            throw new IOException("Not an odds journal segment: " + path);
+        }
+
+        int position = SEGMENT_HEADER_BYTES;
+        int limit = buffer.limit();
+        while (position + BLOCK_HEADER_BYTES <= limit && buffer.getInt(position) == BLOCK_MAGIC) {
+            int payloadLength = buffer.getInt(position + 4);
+            int payloadStart = position + BLOCK_HEADER_BYTES;
+            if (payloadStart + payloadLength > limit) {
+                break;
+            }
+            long firstTimestamp = buffer.getLong(position + 12);
+            long lastTimestamp = buffer.getLong(position + 20);
+            boolean inRange = lastTimestamp >= fromMillis && firstTimestamp < toMillis;
+            if (inRange && (!byEvent || mightContain(buffer, position + 28, eventId))) {
+                decodeBlock(buffer.slice(payloadStart, payloadLength), buffer.getInt(position + 8),
+                        fromMillis, toMillis, byEvent, eventId, consumer);
+            }
+            position = payloadStart + payloadLength;
+        }
+    }
+
+    private static void decodeBlock(ByteBuffer payload, int tickCount, long fromMillis, long toMillis,
+                                    boolean byEvent, long eventId, Consumer<OddsTick> consumer) {
+        List<String> dictionary = new ArrayList<>();
+        long timestamp = 0;
+        long event = 0;
+        long runnerId = 0;
+        for (int i = 0; i < tickCount; i++) {
+            timestamp += unZigZag(readVarLong(payload));
+            event += unZigZag(readVarLong(payload));
+            String market = readString(payload, dictionary);
+            runnerId += unZigZag(readVarLong(payload));
+            int flags = payload.get() & 0xFF;
+            boolean wanted = timestamp >= fromMillis && timestamp < toMillis && (!byEvent || event == eventId);
+            String price = null;
+            if ((flags & FLAG_TEXT_PRICE) != 0) {
+                price = readString(payload, dictionary);
+            } else if ((flags & FLAG_NULL_PRICE) == 0) {
+                long unscaled = readVarLong(payload);
+                if (wanted) {
+                    price = DecimalOdds.format((int) unscaled, (byte) (flags >>> SCALE_SHIFT));
+                }
+            }
+            if (wanted) {
+                consumer.accept(new OddsTick(timestamp, event, market, runnerId, price, (flags & FLAG_OPEN) != 0));
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer payload, List<String> dictionary) {
+        int reference = (int) readVarLong(payload);
+        if (reference > 0) {
+            return dictionary.get(reference - 1);
+        }
+        int length = (int) readVarLong(payload);
+        String value = StandardCharsets.UTF_8.decode(payload.slice(payload.position(), length)).toString();
+        payload.position(payload.position() + length);
+        dictionary.add(value);
+        return value;
+    }
+
+    private static long readVarLong(ByteBuffer payload) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = payload.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,11 @@
+package leonbets.test.parser.journal;
+
+public record OddsTick(
+        long timestamp,
+        long eventId,
+        String market,
+        long runnerId,
+        String price,
+        boolean open
+) {
+}
@@ -0,0 +1,130 @@
+package leonbets.test.parser.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import leonbets.test.parser.client.AdaptiveConcurrencyLimiter;
+import leonbets.test.parser.client.CacheStats;
+import leonbets.test.parser.client.CpuStage;
+import leonbets.test.parser.client.LeonbetsClient;
+import leonbets.test.parser.client.ResilienceStats;
+import leonbets.test.parser.client.UpstreamResilience;
+import leonbets.test.parser.output.BatchingOutputSink;
+import leonbets.test.parser.output.OutputSink;
+import leonbets.test.parser.schedule.PriorityRefreshScheduler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Not bound under the {@code cli} profile: a one-shot crawl is never scraped, and binding would pull the refresh
+ * scheduler and its dependencies into the lazy context.
+ */
+@Component
+@Profile("!cli")
+@RequiredArgsConstructor
+public class ParserMeterBinder implements MeterBinder {
+
+    private final LeonbetsClient client;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final OutputSink outputSink;
+    private final UpstreamResilience resilience;
+    private final PriorityRefreshScheduler refreshScheduler;
+    private final CpuStage cpuStage;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("leonbets.http.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Upstream requests currently in flight")
+                .register(registry);
+        Gauge.builder("leonbets.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("leonbets.limiter.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                .description("Requests waiting for a concurrency permit")
+                .register(registry);
+
+        Gauge.builder("leonbets.cpu.queued", cpuStage, CpuStage::getQueued)
+                .description("Decode and format tasks waiting for a CPU stage worker")
+                .register(registry);
+        Gauge.builder("leonbets.cpu.active", cpuStage, CpuStage::getActive)
+                .description("CPU stage workers currently busy")
+                .register(registry);
+        FunctionCounter.builder("leonbets.cpu.rejected", cpuStage, c -> c.stats().rejected())
+                .description("CPU stage tasks rejected because the queue was full or the stage was shut down")
+                .register(registry);
+
+        for (CacheStats stats : client.cacheStats()) {
+            String cache = stats.name();
+            bindCacheCounter(registry, cache, "hit", s -> s.hits());
+            bindCacheCounter(registry, cache, "miss", s -> s.misses());
+            bindCacheCounter(registry, cache, "revalidated", s -> s.revalidated());
+            bindCacheCounter(registry, cache, "collapsed", s -> s.collapsed());
+            Gauge.builder("leonbets.cache.size", client, c -> cacheStats(c, cache).size())
+                    .tag("cache", cache)
+                    .register(registry);
+        }
+
+        for (String endpoint : List.of("sports", "events", "markets")) {
+            Gauge.builder("leonbets.circuit.state", resilience, r -> r.stats(endpoint).circuitState().ordinal())
+                    .description("Circuit breaker state: 0 closed, 1 half-open, 2 open")
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+            bindResilienceCounter(registry, "leonbets.circuit.rejected", endpoint, null, ResilienceStats::rejected);
+            bindResilienceCounter(registry, "leonbets.retries", endpoint, "attempted", ResilienceStats::retries);
+            bindResilienceCounter(registry, "leonbets.retries", endpoint, "denied", ResilienceStats::retriesDenied);
+            bindResilienceCounter(registry, "leonbets.hedges", endpoint, "sent", ResilienceStats::hedges);
+            bindResilienceCounter(registry, "leonbets.hedges", endpoint, "won", ResilienceStats::hedgeWins);
+        }
+
+        Gauge.builder("leonbets.schedule.tracked", refreshScheduler, s -> s.stats().tracked())
+                .description("Events tracked by the priority refresh scheduler")
+                .register(registry);
+        Gauge.builder("leonbets.schedule.overdue", refreshScheduler, s -> s.stats().overdue())
+                .description("Scheduled events past their refresh deadline")
+                .register(registry);
+        FunctionCounter.builder("leonbets.schedule.refreshes", refreshScheduler,
+                        s -> s.stats().refreshes())
+                .description("Market refreshes issued by the priority scheduler")
+                .register(registry);
+
+        if (outputSink instanceof BatchingOutputSink sink) {
+            Gauge.builder("leonbets.output.pending", sink, BatchingOutputSink::pending)
+                    .description("Records queued for the output writer")
+                    .register(registry);
+            FunctionCounter.builder("leonbets.output.backpressure", sink, BatchingOutputSink::backpressureWaits)
+                    .description("Producer waits caused by a full output queue")
+                    .register(registry);
+        }
+    }
+
+    private void bindCacheCounter(MeterRegistry registry, String cache, String result,
+                                  ToDoubleFunction<CacheStats> value) {
+        FunctionCounter.builder("leonbets.cache.requests", client, c -> value.applyAsDouble(cacheStats(c, cache)))
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private void bindResilienceCounter(MeterRegistry registry, String name, String endpoint, String result,
+                                       ToDoubleFunction<ResilienceStats> value) {
+        FunctionCounter.Builder<UpstreamResilience> builder = FunctionCounter
+                .builder(name, resilience, r -> value.applyAsDouble(r.stats(endpoint)))
+                .tag("endpoint", endpoint);
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        builder.register(registry);
+    }
+
+    private static CacheStats cacheStats(LeonbetsClient client, String cache) {
+        return client.cacheStats().stream()
+                .filter(stats -> stats.name().equals(cache))
+                .findFirst()
+                .orElseThrow();
+    }
+}
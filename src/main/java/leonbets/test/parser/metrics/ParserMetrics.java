@@ -0,0 +1,182 @@
+package leonbets.test.parser.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class ParserMetrics {
+
+    public static final String FETCH = "leonbets.fetch";
+    public static final String DECODE = "leonbets.decode";
+    public static final String PAYLOAD_BYTES = "leonbets.payload.bytes";
+    public static final String FORMAT = "leonbets.format";
+    public static final String OUTPUT_WRITE = "leonbets.output.write";
+    public static final String SEMAPHORE_WAIT = "leonbets.semaphore.wait";
+    public static final String LEAGUE_CRAWL = "leonbets.league.crawl";
+    public static final String ERRORS = "leonbets.errors";
+    public static final String CPU_QUEUE_WAIT = "leonbets.cpu.queue.wait";
+    public static final String CRAWL_DUPLICATES = "leonbets.crawl.duplicates";
+    public static final String OTHER_LEAGUES = "other";
+
+    private final MeterRegistry registry;
+    private final Map<StageTag, Timer> fetchTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> decodeTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> payloadSizes = new ConcurrentHashMap<>();
+    private final Map<String, OutputMeters> outputMeters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> semaphoreWaitTimers = new ConcurrentHashMap<>();
+    private final Map<LeagueTag, Timer> leagueTimers = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> taggedLeagues = new ConcurrentHashMap<>();
+    private final Map<String, Counter> duplicateCounters = new ConcurrentHashMap<>();
+    private final Map<ErrorTag, Counter> errorCounters = new ConcurrentHashMap<>();
+    private volatile Timer formatTimer;
+    private volatile Timer cpuQueueWaitTimer;
+
+    @Value("${spring.parser.metrics.league.tags.per.sport:50}")
+    private int leagueTagsPerSport = 50;
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+
+    public void recordFetch(String stage, String outcome, long nanos) {
+        fetchTimers.computeIfAbsent(new StageTag(stage, outcome), key -> Timer.builder(FETCH)
+                        .description("Upstream HTTP exchange time")
+                        .tag("stage", key.stage())
+                        .tag("outcome", key.value())
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDecode(String payload, long nanos, long bytes) {
+        decodeTimers.computeIfAbsent(payload, key -> Timer.builder(DECODE)
+                        .description("JSON decode time of upstream payloads")
+                        .tag("payload", key)
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        payloadSizes.computeIfAbsent(payload, key -> DistributionSummary.builder(PAYLOAD_BYTES)
+                        .description("Upstream payload size")
+                        .baseUnit("bytes")
+                        .tag("payload", key)
+                        .register(registry))
+                .record(bytes);
+    }
+
+    public void recordFormat(long nanos) {
+        Timer timer = formatTimer;
+        if (timer == null) {
+            timer = Timer.builder(FORMAT)
+                    .description("LeonbetsPrinter formatting time")
+                    .register(registry);
+            formatTimer = timer;
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCpuQueueWait(long nanos) {
+        Timer timer = cpuQueueWaitTimer;
+        if (timer == null) {
+            timer = Timer.builder(CPU_QUEUE_WAIT)
+                    .description("Time a CPU stage task waited for a worker")
+                    .register(registry);
+            cpuQueueWaitTimer = timer;
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordOutputWrite(String sink, long nanos, int records, long bytes) {
+        OutputMeters meters = outputMeters.computeIfAbsent(sink, key -> new OutputMeters(
+                Timer.builder(OUTPUT_WRITE)
+                        .description("Output sink batch write time")
+                        .tag("sink", key)
+                        .register(registry),
+                Counter.builder(OUTPUT_WRITE + ".records")
+                        .tag("sink", key)
+                        .register(registry),
+                Counter.builder(OUTPUT_WRITE + ".bytes")
+                        .baseUnit("bytes")
+                        .tag("sink", key)
+                        .register(registry)));
+        meters.time().record(nanos, TimeUnit.NANOSECONDS);
+        meters.records().increment(records);
+        meters.bytes().increment(bytes);
+    }
+
+    public void recordSemaphoreWait(String stage, long nanos) {
+        semaphoreWaitTimers.computeIfAbsent(stage, key -> Timer.builder(SEMAPHORE_WAIT)
+                        .description("Time spent waiting for a stage permit in LeonbetsParser")
+                        .tag("stage", key)
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Leagues are tagged by id. Only the first {@code leagueTagsPerSport} leagues seen for a sport get their own
+     * series; the rest share the {@value #OTHER_LEAGUES} tag, which keeps the histogram buckets bounded.
+     */
+    public void recordLeague(String engine, String sport, Long leagueId, long nanos) {
+        leagueTimers.computeIfAbsent(new LeagueTag(engine, sport, leagueTag(sport, leagueId)), key ->
+                        Timer.builder(LEAGUE_CRAWL)
+                                .description("Time to fetch a league's events and their markets")
+                                .tag("engine", key.engine())
+                                .tag("sport", key.sport())
+                                .tag("league", key.league())
+                                .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDuplicate(String stage) {
+        duplicateCounters.computeIfAbsent(stage, key -> Counter.builder(CRAWL_DUPLICATES)
+                        .description("Leagues, events and market fetches skipped or shared within one crawl")
+                        .tag("stage", key)
+                        .register(registry))
+                .increment();
+    }
+
+    public void recordError(String stage, Throwable error) {
+        errorCounters.computeIfAbsent(new ErrorTag(stage, error.getClass()), key -> Counter.builder(ERRORS)
+                        .description("Errors by stage and exception type")
+                        .tag("stage", key.stage())
+                        .tag("type", key.type().getSimpleName())
+                        .register(registry))
+                .increment();
+    }
+
+    private String leagueTag(String sport, Long leagueId) {
+        if (leagueId == null) {
+            return OTHER_LEAGUES;
+        }
+        Set<Long> tagged = taggedLeagues.computeIfAbsent(sport, key -> ConcurrentHashMap.newKeySet());
+        if (!tagged.contains(leagueId)) {
+            synchronized (tagged) {
+                if (tagged.size() >= leagueTagsPerSport) {
+                    return OTHER_LEAGUES;
+                }
+                tagged.add(leagueId);
+            }
+        }
+        return leagueId.toString();
+    }
+
+    private record StageTag(String stage, String value) {
+    }
+
+    private record LeagueTag(String engine, String sport, String league) {
+    }
+
+    private record ErrorTag(String stage, Class<?> type) {
+    }
+
+    private record OutputMeters(Timer time, Counter records, Counter bytes) {
+    }
+}
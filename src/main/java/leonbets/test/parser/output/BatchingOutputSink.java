@@ -0,0 +1,236 @@
+package leonbets.test.parser.output;
+
+import leonbets.test.parser.metrics.ParserMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+@Slf4j
+public abstract class BatchingOutputSink implements OutputSink {
+
+    private static final long BACKPRESSURE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final String name;
+    private final ParserMetrics metrics;
+    private final Charset charset;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final long flushIntervalNanos;
+
+    private final Queue<ByteBuffer> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger producers = new AtomicInteger();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong flushTarget = new AtomicLong();
+    private final AtomicLong backpressureWaits = new AtomicLong();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Thread writer;
+
+    private volatile boolean stopped;
+    private volatile long written;
+
+    protected BatchingOutputSink(String name, ParserMetrics metrics, Charset charset, int batchSize,
+                                 Duration flushInterval, int queueCapacity) {
+        this.name = name;
+        this.metrics = metrics;
+        this.charset = charset;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.writer = Thread.ofPlatform()
+                .name("leonbets-output-" + name)
+                .daemon(true)
+                .unstarted(this::runWriter);
+    }
+
+    protected void start() {
+        writer.start();
+    }
+
+    protected abstract GatheringByteChannel channel();
+
+    protected void closeChannel() throws IOException {
+        channel().close();
+    }
+
+    @Override
+    public void write(CharSequence record) {
+        enqueue(encode(record));
+    }
+
+    /**
+     * Producers register before checking {@code closed}, so {@link #close()} can wait for every producer that got
+     * past the check to finish its offer before the writer stops.
+     */
+    protected void enqueue(ByteBuffer bytes) {
+        producers.incrementAndGet();
+        try {
+            if (closed.get()) {
+                throw new IllegalStateException("Output sink is closed");
+            }
+            reserveSlot();
+            enqueued.incrementAndGet();
+            queue.offer(bytes);
+        } finally {
+            producers.decrementAndGet();
+        }
+        if (pending.get() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Waits until every record enqueued before the call is written. Records are numbered when they are reserved,
+     * and the queue is FIFO, so the first {@code target} records written include all of them even while other
+     * producers keep writing.
+     */
+    @Override
+    public void flush() {
+        long target = enqueued.get();
+        flushTarget.accumulateAndGet(target, Math::max);
+        LockSupport.unpark(writer);
+        while (written < target && writer.isAlive()) {
+            LockSupport.parkNanos(this, BACKPRESSURE_PARK_NANOS);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        while (producers.get() > 0) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, BACKPRESSURE_PARK_NANOS);
+        }
+        flush();
+        stopped = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+            drain();
+            closeChannel();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int pending() {
+        return pending.get();
+    }
+
+    public long backpressureWaits() {
+        return backpressureWaits.get();
+    }
+
+    private ByteBuffer encode(CharSequence record) {
+        try {
+            return charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .encode(CharBuffer.wrap(record));
+        } catch (CharacterCodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void reserveSlot() {
+        boolean waited = false;
+        while (true) {
+            int current = pending.get();
+            if (current < queueCapacity) {
+                if (pending.compareAndSet(current, current + 1)) {
+                    return;
+                }
+                continue;
+            }
+            if (!waited) {
+                backpressureWaits.incrementAndGet();
+                waited = true;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, BACKPRESSURE_PARK_NANOS);
+        }
+    }
+
+    private void runWriter() {
+        ByteBuffer[] batch = new ByteBuffer[batchSize];
+        while (!stopped || !queue.isEmpty()) {
+            writeBatch(batch, fillBatch(batch));
+        }
+    }
+
+    private void drain() {
+        ByteBuffer[] batch = new ByteBuffer[batchSize];
+        int count;
+        while ((count = fillBatch(batch)) > 0) {
+            writeBatch(batch, count);
+        }
+    }
+
+    private int fillBatch(ByteBuffer[] batch) {
+        int count = 0;
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (count < batchSize) {
+            ByteBuffer record = queue.poll();
+            if (record != null) {
+                batch[count++] = record;
+                continue;
+            }
+            if (stopped || flushTarget.get() > written + count) {
+                break;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+        return count;
+    }
+
+    private void writeBatch(ByteBuffer[] batch, int count) {
+        if (count == 0) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            GatheringByteChannel channel = channel();
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                total += batch[i].remaining();
+            }
+            long remaining = total;
+            while (remaining > 0) {
+                remaining -= channel.write(batch, 0, count);
+            }
+            metrics.recordOutputWrite(name, System.nanoTime() - startedAt, count, total);
+        } catch (IOException e) {
+            metrics.recordError("output", e);
+            log.error("Failed to write {} output records: {}", count, e.getMessage(), e);
+        } finally {
+            for (int i = 0; i < count; i++) {
+                batch[i] = null;
+            }
+            pending.addAndGet(-count);
+            written += count;
+        }
+    }
+}
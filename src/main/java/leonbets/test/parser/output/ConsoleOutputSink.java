@@ -0,0 +1,28 @@
+package leonbets.test.parser.output;
+
+import leonbets.test.parser.metrics.ParserMetrics;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.time.Duration;
+
+public class ConsoleOutputSink extends BatchingOutputSink {
+
+    private final FileChannel channel = new FileOutputStream(FileDescriptor.out).getChannel();
+
+    public ConsoleOutputSink(ParserMetrics metrics, int batchSize, Duration flushInterval, int queueCapacity) {
+        super("console", metrics, System.out.charset(), batchSize, flushInterval, queueCapacity);
+        start();
+    }
+
+    @Override
+    protected GatheringByteChannel channel() {
+        return channel;
+    }
+
+    @Override
+    protected void closeChannel() {
+    }
+}
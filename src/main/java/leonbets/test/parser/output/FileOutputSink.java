@@ -0,0 +1,96 @@
+package leonbets.test.parser.output;
+
+import leonbets.test.parser.metrics.ParserMetrics;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+public class FileOutputSink extends BatchingOutputSink {
+
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+
+    private final GatheringByteChannel channel;
+
+    public FileOutputSink(Path filePath, ParserMetrics metrics, int batchSize, Duration flushInterval,
+                          int queueCapacity) {
+        this(filePath, false, metrics, batchSize, flushInterval, queueCapacity);
+    }
+
+    public FileOutputSink(Path filePath, boolean gzip, ParserMetrics metrics, int batchSize, Duration flushInterval,
+                          int queueCapacity) {
+        super("file", metrics, StandardCharsets.UTF_8, batchSize, flushInterval, queueCapacity);
+        try {
+            this.channel = gzip
+                    ? new GzipChannel(new GZIPOutputStream(
+                            new FileOutputStream(filePath.toFile(), true), GZIP_BUFFER_BYTES, true))
+                    : FileChannel.open(filePath,
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open output file: " + filePath, e);
+        }
+        start();
+    }
+
+    @Override
+    protected GatheringByteChannel channel() {
+        return channel;
+    }
+
+    /**
+     * Sync-flushes the deflater after every batch so a reader (or a crash) sees whole batches, while the
+     * dictionary still spans the file.
+     */
+    private static final class GzipChannel implements GatheringByteChannel {
+
+        private final GZIPOutputStream out;
+        private final WritableByteChannel channel;
+
+        private GzipChannel(GZIPOutputStream out) {
+            this.out = out;
+            this.channel = Channels.newChannel(out);
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) throws IOException {
+            long written = 0;
+            for (int i = offset; i < offset + length; i++) {
+                while (sources[i].hasRemaining()) {
+                    written += channel.write(sources[i]);
+                }
+            }
+            out.flush();
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources) throws IOException {
+            return write(sources, 0, sources.length);
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            return (int) write(new ByteBuffer[]{source}, 0, 1);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
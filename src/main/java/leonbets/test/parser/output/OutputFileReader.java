@@ -0,0 +1,46 @@
+package leonbets.test.parser.output;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads files written by {@link FileOutputSink} in a structured format, with or without gzip.
+ */
+public class OutputFileReader {
+
+    private final ObjectMapper mapper;
+
+    public OutputFileReader(OutputFormat format, ObjectMapper objectMapper) {
+        if (!format.isStructured()) {
+            throw new IllegalArgumentException("Only structured output formats can be read back: " + format);
+        }
+        this.mapper = format.mapper(objectMapper);
+    }
+
+    public <T> long read(Path file, Class<T> type, Consumer<? super T> consumer) throws IOException {
+        ObjectReader reader = mapper.readerFor(type);
+        long records = 0;
+        try (DataInputStream in = new DataInputStream(RecordFrames.open(Files.newInputStream(file)))) {
+            byte[] frame;
+            while ((frame = RecordFrames.next(in)) != null) {
+                consumer.accept(reader.readValue(frame));
+                records++;
+            }
+        }
+        return records;
+    }
+
+    public <T> List<T> readAll(Path file, Class<T> type) throws IOException {
+        List<T> records = new ArrayList<>();
+        read(file, type, records::add);
+        return records;
+    }
+}
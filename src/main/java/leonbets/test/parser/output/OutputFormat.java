@@ -0,0 +1,36 @@
+package leonbets.test.parser.output;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.util.Locale;
+
+public enum OutputFormat {
+    TEXT,
+    SMILE,
+    CBOR;
+
+    public static OutputFormat of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown output format: " + name, e);
+        }
+    }
+
+    public boolean isStructured() {
+        return this != TEXT;
+    }
+
+    /**
+     * Binary mapper sharing the configuration of {@code base}; records are written one value per frame.
+     */
+    public ObjectMapper mapper(ObjectMapper base) {
+        return switch (this) {
+            case TEXT -> throw new IllegalStateException("Text output is not encoded by Jackson");
+            case SMILE -> base.copyWith(new SmileFactory());
+            case CBOR -> base.copyWith(new CBORFactory());
+        };
+    }
+}
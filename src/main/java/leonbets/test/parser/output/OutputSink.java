@@ -0,0 +1,11 @@
+package leonbets.test.parser.output;
+
+public interface OutputSink extends AutoCloseable {
+
+    void write(CharSequence record);
+
+    void flush();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,56 @@
+package leonbets.test.parser.output;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Structured output files are a sequence of {@code [int32 length][encoded record]} frames, optionally inside a
+ * gzip stream. Length prefixes keep records independently decodable, so Smile and CBOR values never share
+ * back-references across records and an appended file (a new gzip member) reads like one stream.
+ */
+final class RecordFrames {
+
+    static final int MAX_FRAME_BYTES = 64 * 1024 * 1024;
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    private RecordFrames() {
+    }
+
+    static ByteBuffer frame(byte[] record) {
+        ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + record.length);
+        frame.putInt(record.length).put(record).flip();
+        return frame;
+    }
+
+    static InputStream open(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, 64 * 1024);
+        buffered.mark(2);
+        int magic = buffered.read() | buffered.read() << 8;
+        buffered.reset();
+        return magic == GZIP_MAGIC ? new GZIPInputStream(buffered, 64 * 1024) : buffered;
+    }
+
+    /**
+     * Returns the next frame, or {@code null} at a clean end of input.
+     */
+    static byte[] next(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < 0 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Corrupt output frame length: " + length);
+        }
+        byte[] record = new byte[length];
+        in.readFully(record);
+        return record;
+    }
+}
@@ -0,0 +1,46 @@
+package leonbets.test.parser.output;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import leonbets.test.parser.metrics.ParserMetrics;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Appends length-prefixed Smile or CBOR records (see {@link RecordFrames}); plain text records are framed as
+ * string values so the file stays readable by {@link OutputFileReader}.
+ */
+public class StructuredFileOutputSink extends FileOutputSink implements StructuredOutputSink {
+
+    private final OutputFormat format;
+    private final ObjectWriter writer;
+
+    public StructuredFileOutputSink(Path filePath, OutputFormat format, boolean gzip, ObjectMapper objectMapper,
+                                    ParserMetrics metrics, int batchSize, Duration flushInterval,
+                                    int queueCapacity) {
+        super(filePath, gzip, metrics, batchSize, flushInterval, queueCapacity);
+        if (!format.isStructured()) {
+            close();
+            throw new IllegalArgumentException("Not a structured output format: " + format);
+        }
+        this.format = format;
+        this.writer = format.mapper(objectMapper).writer();
+    }
+
+    @Override
+    public void write(CharSequence record) {
+        writeValue(record.toString());
+    }
+
+    @Override
+    public void writeValue(Object record) {
+        try {
+            enqueue(RecordFrames.frame(writer.writeValueAsBytes(record)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not encode " + format + " output record", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package leonbets.test.parser.output;
+
+/**
+ * Sink that encodes whole values instead of formatted text; records check for it with {@code instanceof}.
+ */
+public interface StructuredOutputSink extends OutputSink {
+
+    void writeValue(Object record);
+}
@@ -0,0 +1,294 @@
+package leonbets.test.parser.schedule;
+
+import jakarta.annotation.PreDestroy;
+import leonbets.test.parser.analytics.MarketAnalytics;
+import leonbets.test.parser.client.LeonbetsClient;
+import leonbets.test.parser.delta.EventDelta;
+import leonbets.test.parser.delta.EventDeltaListener;
+import leonbets.test.parser.delta.OddsDeltaTracker;
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.entity.EventEnvelope;
+import leonbets.test.parser.entity.League;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.entity.Region;
+import leonbets.test.parser.entity.Sport;
+import leonbets.test.parser.metrics.ParserMetrics;
+import leonbets.test.parser.output.OutputSink;
+import leonbets.test.parser.selection.SelectionIndex;
+import leonbets.test.parser.shard.ShardCoordinator;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PriorityRefreshScheduler {
+
+    private static final String SPLITTER = ",";
+
+    private final LeonbetsClient client;
+    private final OddsDeltaTracker tracker;
+    private final OutputSink outputSink;
+    private final ParserMetrics metrics;
+    private final ShardCoordinator shards;
+    private final SelectionIndex selection;
+    private final MarketAnalytics analytics;
+    private final ObjectProvider<EventDeltaListener> listenerProvider;
+
+    @Value("${spring.parser.sports}")
+    private String sportList;
+
+    @Value("${spring.parser.schedule.budget.per.second:10}")
+    private double budgetPerSecond;
+
+    @Value("${spring.parser.schedule.budget.burst:20}")
+    private double budgetBurst;
+
+    @Value("${spring.parser.schedule.discovery.interval.seconds:60}")
+    private long discoveryIntervalSeconds;
+
+    @Value("${spring.parser.schedule.top.only:true}")
+    private boolean topOnly;
+
+    @Value("${spring.parser.schedule.interval.min.seconds:3}")
+    private long minIntervalSeconds;
+
+    @Value("${spring.parser.schedule.interval.max.seconds:300}")
+    private long maxIntervalSeconds;
+
+    @Value("${spring.parser.schedule.horizon.hours:24}")
+    private long horizonHours;
+
+    @Value("${spring.parser.schedule.non.top.factor:2.0}")
+    private double nonTopFactor;
+
+    @Value("${spring.parser.schedule.volatility.boost:0.75}")
+    private double volatilityBoost;
+
+    @Value("${spring.parser.schedule.volatility.alpha:0.3}")
+    private double volatilityAlpha;
+
+    @Value("${spring.parser.poll.evict.cycles:3}")
+    private long evictAfterRounds;
+
+    private final Map<Long, ScheduledEvent> events = new ConcurrentHashMap<>();
+    private final DelayQueue<ScheduledEvent> queue = new DelayQueue<>();
+    private final AtomicLong rounds = new AtomicLong();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder changedRefreshes = new LongAdder();
+    private final LongAdder failedRefreshes = new LongAdder();
+
+    private RefreshPolicy policy;
+    private TokenBucket budget;
+    private List<EventDeltaListener> listeners = List.of();
+    private ScheduledExecutorService discovery;
+    private ExecutorService refreshExecutor;
+    private Thread dispatcher;
+
+    public synchronized void start() {
+        if (dispatcher != null) {
+            return;
+        }
+        policy = new RefreshPolicy(TimeUnit.SECONDS.toMillis(minIntervalSeconds),
+                TimeUnit.SECONDS.toMillis(maxIntervalSeconds), TimeUnit.HOURS.toMillis(horizonHours),
+                nonTopFactor, volatilityBoost);
+        budget = new TokenBucket(budgetPerSecond, budgetBurst);
+        listeners = listenerProvider.orderedStream().toList();
+        refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        discovery = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("leonbets-discovery").factory());
+        discovery.scheduleWithFixedDelay(this::discover, 0, discoveryIntervalSeconds, TimeUnit.SECONDS);
+        dispatcher = Thread.ofPlatform().name("leonbets-scheduler").start(this::dispatch);
+        log.info("Priority refresh scheduler started with a budget of {} requests/s", budgetPerSecond);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (dispatcher == null) {
+            return;
+        }
+        dispatcher.interrupt();
+        discovery.shutdownNow();
+        refreshExecutor.shutdownNow();
+        dispatcher = null;
+    }
+
+    public ScheduleStats stats() {
+        long now = System.currentTimeMillis();
+        int overdue = 0;
+        long nextDueAt = Long.MAX_VALUE;
+        for (ScheduledEvent event : queue) {
+            if (event.dueAtMillis() <= now) {
+                overdue++;
+            }
+            nextDueAt = Math.min(nextDueAt, event.dueAtMillis());
+        }
+        TokenBucket currentBudget = budget;
+        return new ScheduleStats(dispatcher != null, events.size(), overdue,
+                refreshes.sum(), changedRefreshes.sum(), failedRefreshes.sum(), rounds.get(),
+                currentBudget == null ? budgetPerSecond : currentBudget.permitsPerSecond(),
+                currentBudget == null ? 0 : TimeUnit.NANOSECONDS.toMillis(currentBudget.waitedNanos()),
+                nextDueAt == Long.MAX_VALUE ? -1 : Math.max(0, nextDueAt - now));
+    }
+
+    private void dispatch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                ScheduledEvent event = queue.take();
+                if (event.retired) {
+                    continue;
+                }
+                budget.acquire();
+                refreshExecutor.execute(() -> refresh(event));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void refresh(ScheduledEvent scheduled) {
+        long timestamp = System.currentTimeMillis();
+        try {
+            MarketEnvelope marketEnvelope = client.fetchMarkets(scheduled.eventId).block();
+            LeonbetsPrinter printer = new LeonbetsPrinter(scheduled.sportName, scheduled.regionName,
+                    scheduled.leagueName, scheduled.event, marketEnvelope);
+            analytics.observe(printer, timestamp);
+            EventDelta delta = tracker.track(printer, scheduled.seenInRound);
+            refreshes.increment();
+            scheduled.observe(!delta.isEmpty(), volatilityAlpha);
+            if (!delta.isEmpty()) {
+                changedRefreshes.increment();
+                delta.writeTo(outputSink);
+                for (EventDeltaListener listener : listeners) {
+                    listener.onDelta(delta, timestamp);
+                }
+            }
+        } catch (Exception e) {
+            failedRefreshes.increment();
+            metrics.recordError("schedule", e);
+            log.warn("Scheduled refresh failed for eventId={}: {}", scheduled.eventId, e.getMessage());
+        } finally {
+            reschedule(scheduled, System.currentTimeMillis());
+        }
+    }
+
+    private void reschedule(ScheduledEvent scheduled, long now) {
+        if (scheduled.retired) {
+            return;
+        }
+        scheduled.dueAt(now + policy.intervalMillis(scheduled.event.kickoff(), scheduled.top,
+                scheduled.volatility(), now));
+        queue.add(scheduled);
+    }
+
+    void discover() {
+        long round = rounds.incrementAndGet();
+        long startedAt = System.nanoTime();
+        try {
+            budget.acquire();
+            List<Sport> sports = client.fetchSports().block();
+            if (CollectionUtils.isEmpty(sports)) {
+                log.error("No sports found");
+                return;
+            }
+
+            Set<String> chosenSports = Set.of(sportList.split(SPLITTER));
+            List<CompletableFuture<Void>> leagueTasks = new ArrayList<>();
+            for (Sport sport : sports) {
+                if (!chosenSports.contains(sport.name()) || sport.regions() == null
+                        || !selection.selectsSport(sport.name())) {
+                    continue;
+                }
+                for (Region region : sport.regions()) {
+                    if (region.leagues() == null || !selection.selectsRegion(region.name())) {
+                        continue;
+                    }
+                    for (League league : region.leagues()) {
+                        boolean top = Boolean.TRUE.equals(league.top());
+                        if ((top || !topOnly) && selection.selectsLeague(league.name()) && shards.owns(league.id())) {
+                            leagueTasks.add(CompletableFuture.runAsync(
+                                    () -> discoverLeague(sport.name(), region.name(), league, top, round),
+                                    refreshExecutor));
+                        }
+                    }
+                }
+            }
+            CompletableFuture.allOf(leagueTasks.toArray(new CompletableFuture[0])).join();
+
+            int retired = retireOlderThan(round - evictAfterRounds + 1);
+            outputSink.flush();
+            for (EventDeltaListener listener : listeners) {
+                listener.onCycleCompleted(round);
+            }
+            log.info("Discovery round {} finished in {} ms: {} leagues, {} events scheduled, {} retired",
+                    round, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt),
+                    leagueTasks.size(), events.size(), retired);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Discovery round {} failed: {}", round, e.getMessage(), e);
+        }
+    }
+
+    private void discoverLeague(String sportName, String regionName, League league, boolean top, long round) {
+        try {
+            budget.acquire();
+            EventEnvelope envelope = client.fetchEvents(league.id()).block();
+            if (envelope == null || envelope.events() == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            for (Event event : envelope.events()) {
+                boolean[] added = {false};
+                ScheduledEvent scheduled = events.computeIfAbsent(event.id(), id -> {
+                    added[0] = true;
+                    return new ScheduledEvent(id);
+                });
+                scheduled.update(sportName, regionName, league.name(), top, event, round);
+                if (added[0]) {
+                    scheduled.dueAt(now);
+                    queue.add(scheduled);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            metrics.recordError("discovery", e);
+            log.error("Failed to discover events for league={} with id={}: {}",
+                    league.name(), league.id(), e.getMessage());
+        }
+    }
+
+    private int retireOlderThan(long round) {
+        int retired = 0;
+        for (ScheduledEvent scheduled : events.values()) {
+            if (scheduled.seenInRound < round) {
+                scheduled.retired = true;
+                events.remove(scheduled.eventId);
+                queue.remove(scheduled);
+                tracker.evict(scheduled.eventId);
+                retired++;
+            }
+        }
+        return retired;
+    }
+}
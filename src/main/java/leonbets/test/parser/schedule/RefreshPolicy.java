@@ -0,0 +1,34 @@
+package leonbets.test.parser.schedule;
+
+public record RefreshPolicy(
+        long minIntervalMillis,
+        long maxIntervalMillis,
+        long horizonMillis,
+        double nonTopFactor,
+        double volatilityBoost
+) {
+    public RefreshPolicy {
+        if (minIntervalMillis <= 0 || maxIntervalMillis < minIntervalMillis || horizonMillis <= 0) {
+            throw new IllegalArgumentException("Refresh intervals must satisfy 0 < min <= max and horizon > 0");
+        }
+        if (nonTopFactor < 1 || volatilityBoost < 0 || volatilityBoost >= 1) {
+            throw new IllegalArgumentException("nonTopFactor must be >= 1 and volatilityBoost in [0, 1)");
+        }
+    }
+
+    public long intervalMillis(Long kickoff, boolean top, double volatility, long now) {
+        double interval;
+        if (kickoff == null) {
+            interval = maxIntervalMillis;
+        } else {
+            long untilKickoff = kickoff - now;
+            double proximity = untilKickoff <= 0 ? 0 : Math.min(1.0, (double) untilKickoff / horizonMillis);
+            interval = minIntervalMillis + (maxIntervalMillis - minIntervalMillis) * proximity;
+        }
+        if (!top) {
+            interval *= nonTopFactor;
+        }
+        interval *= 1 - volatilityBoost * Math.clamp(volatility, 0.0, 1.0);
+        return Math.clamp(Math.round(interval), minIntervalMillis, maxIntervalMillis);
+    }
+}
@@ -0,0 +1,15 @@
+package leonbets.test.parser.schedule;
+
+public record ScheduleStats(
+        boolean running,
+        int tracked,
+        int overdue,
+        long refreshes,
+        long changedRefreshes,
+        long failedRefreshes,
+        long discoveryRounds,
+        double budgetPerSecond,
+        long budgetWaitMillis,
+        long nextRefreshInMillis
+) {
+}
@@ -0,0 +1,63 @@
+package leonbets.test.parser.schedule;
+
+import leonbets.test.parser.entity.Event;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+class ScheduledEvent implements Delayed {
+
+    final long eventId;
+    volatile String sportName;
+    volatile String regionName;
+    volatile String leagueName;
+    volatile boolean top;
+    volatile Event event;
+    volatile long seenInRound;
+    volatile boolean retired;
+
+    private volatile long dueAtMillis;
+    private volatile long refreshes;
+    private volatile double volatility;
+
+    ScheduledEvent(long eventId) {
+        this.eventId = eventId;
+    }
+
+    void update(String sportName, String regionName, String leagueName, boolean top, Event event, long round) {
+        this.sportName = sportName;
+        this.regionName = regionName;
+        this.leagueName = leagueName;
+        this.top = top;
+        this.event = event;
+        this.seenInRound = round;
+    }
+
+    void observe(boolean changed, double alpha) {
+        if (refreshes++ > 0) {
+            volatility = alpha * (changed ? 1 : 0) + (1 - alpha) * volatility;
+        }
+    }
+
+    double volatility() {
+        return volatility;
+    }
+
+    long dueAtMillis() {
+        return dueAtMillis;
+    }
+
+    void dueAt(long millis) {
+        dueAtMillis = millis;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(dueAtMillis, ((ScheduledEvent) other).dueAtMillis);
+    }
+}
@@ -0,0 +1,114 @@
+package leonbets.test.parser.selection;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Case-insensitive name matcher compiled from exact names and {@code prefix*} patterns into one trie,
+ * so a lookup is a single walk over the candidate's characters without allocating. A lone {@code *}
+ * or an empty pattern list matches everything.
+ */
+public final class NameMatcher {
+
+    public static final NameMatcher ANY = new NameMatcher(null, 0);
+
+    private static final char WILDCARD = '*';
+
+    private final Node root;
+    private final int patterns;
+
+    private NameMatcher(Node root, int patterns) {
+        this.root = root;
+        this.patterns = patterns;
+    }
+
+    public static NameMatcher compile(Collection<String> patterns) {
+        Node root = new Node();
+        int count = 0;
+        for (String raw : patterns) {
+            String pattern = raw.strip();
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            if (pattern.equals(String.valueOf(WILDCARD))) {
+                return ANY;
+            }
+            boolean prefix = pattern.charAt(pattern.length() - 1) == WILDCARD;
+            int length = prefix ? pattern.length() - 1 : pattern.length();
+            Node node = root;
+            for (int i = 0; i < length; i++) {
+                node = node.childOrCreate(Character.toLowerCase(pattern.charAt(i)));
+            }
+            if (prefix) {
+                node.prefix = true;
+            } else {
+                node.exact = true;
+            }
+            count++;
+        }
+        return count == 0 ? ANY : new NameMatcher(root, count);
+    }
+
+    public boolean matchesAll() {
+        return root == null;
+    }
+
+    public int patterns() {
+        return patterns;
+    }
+
+    public boolean matches(String name) {
+        if (root == null) {
+            return true;
+        }
+        if (name == null) {
+            return false;
+        }
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            if (node.prefix) {
+                return true;
+            }
+            node = node.child(Character.toLowerCase(name.charAt(i)));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.exact || node.prefix;
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private boolean exact;
+        private boolean prefix;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : children[index];
+        }
+
+        Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+    }
+}
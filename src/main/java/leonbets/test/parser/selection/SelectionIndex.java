@@ -0,0 +1,125 @@
+package leonbets.test.parser.selection;
+
+import jakarta.annotation.PostConstruct;
+import leonbets.test.parser.entity.MarketEnvelope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Slf4j
+public class SelectionIndex {
+
+    private static final String SPLITTER = ",";
+
+    @Value("${spring.parser.selection.sports:}")
+    private String sportPatterns;
+
+    @Value("${spring.parser.selection.regions:}")
+    private String regionPatterns;
+
+    @Value("${spring.parser.selection.leagues:}")
+    private String leaguePatterns;
+
+    @Value("${spring.parser.selection.markets:}")
+    private String marketPatterns;
+
+    @Value("${spring.parser.selection.runners:}")
+    private String runnerPatterns;
+
+    private final LongAdder skippedSports = new LongAdder();
+    private final LongAdder skippedRegions = new LongAdder();
+    private final LongAdder skippedLeagues = new LongAdder();
+    private final LongAdder skippedMarkets = new LongAdder();
+    private final LongAdder skippedRunners = new LongAdder();
+
+    private NameMatcher sports = NameMatcher.ANY;
+    private NameMatcher regions = NameMatcher.ANY;
+    private NameMatcher leagues = NameMatcher.ANY;
+    private NameMatcher markets = NameMatcher.ANY;
+    private NameMatcher runners = NameMatcher.ANY;
+
+    public SelectionIndex() {
+    }
+
+    public SelectionIndex(String sports, String regions, String leagues, String markets, String runners) {
+        this.sportPatterns = sports;
+        this.regionPatterns = regions;
+        this.leaguePatterns = leagues;
+        this.marketPatterns = markets;
+        this.runnerPatterns = runners;
+        compile();
+    }
+
+    @PostConstruct
+    void compile() {
+        sports = matcher(sportPatterns);
+        regions = matcher(regionPatterns);
+        leagues = matcher(leaguePatterns);
+        markets = matcher(marketPatterns);
+        runners = matcher(runnerPatterns);
+        if (isActive()) {
+            log.info("Selection index compiled: {} sport, {} region, {} league, {} market and {} runner pattern(s)",
+                    sports.patterns(), regions.patterns(), leagues.patterns(), markets.patterns(), runners.patterns());
+        }
+    }
+
+    public boolean isActive() {
+        return !sports.matchesAll() || !regions.matchesAll() || !leagues.matchesAll() || filtersMarkets();
+    }
+
+    public boolean filtersMarkets() {
+        return !markets.matchesAll() || filtersRunners();
+    }
+
+    public boolean filtersRunners() {
+        return !runners.matchesAll();
+    }
+
+    public boolean selectsEvent(MarketEnvelope envelope) {
+        return !filtersMarkets() || envelope == null || !envelope.markets().isEmpty();
+    }
+
+    public boolean selectsSport(String name) {
+        return select(sports, name, skippedSports);
+    }
+
+    public boolean selectsRegion(String name) {
+        return select(regions, name, skippedRegions);
+    }
+
+    public boolean selectsLeague(String name) {
+        return select(leagues, name, skippedLeagues);
+    }
+
+    public boolean selectsMarket(String name) {
+        return select(markets, name, skippedMarkets);
+    }
+
+    public boolean selectsRunner(String name) {
+        return select(runners, name, skippedRunners);
+    }
+
+    public SelectionStats stats() {
+        return new SelectionStats(isActive(), skippedSports.sum(), skippedRegions.sum(), skippedLeagues.sum(),
+                skippedMarkets.sum(), skippedRunners.sum());
+    }
+
+    private static boolean select(NameMatcher matcher, String name, LongAdder skipped) {
+        if (matcher.matches(name)) {
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    private static NameMatcher matcher(String patterns) {
+        if (patterns == null || patterns.isBlank()) {
+            return NameMatcher.ANY;
+        }
+        return NameMatcher.compile(List.of(patterns.split(SPLITTER)));
+    }
+}
@@ -0,0 +1,11 @@
+package leonbets.test.parser.selection;
+
+public record SelectionStats(
+        boolean active,
+        long skippedSports,
+        long skippedRegions,
+        long skippedLeagues,
+        long skippedMarkets,
+        long skippedRunners
+) {
+}
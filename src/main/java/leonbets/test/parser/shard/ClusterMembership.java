@@ -0,0 +1,12 @@
+package leonbets.test.parser.shard;
+
+import java.util.List;
+
+public interface ClusterMembership {
+
+    void heartbeat(Member member);
+
+    void leave(String memberId);
+
+    List<Member> members();
+}
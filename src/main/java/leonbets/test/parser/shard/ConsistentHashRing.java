@@ -0,0 +1,63 @@
+package leonbets.test.parser.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+public final class ConsistentHashRing {
+
+    private final long[] points;
+    private final String[] owners;
+    private final List<String> members;
+
+    public ConsistentHashRing(List<String> members, int virtualNodes) {
+        if (members.isEmpty() || virtualNodes <= 0) {
+            throw new IllegalArgumentException("A hash ring needs at least one member and one virtual node");
+        }
+        this.members = List.copyOf(members);
+        int size = members.size() * virtualNodes;
+        long[][] entries = new long[size][2];
+        int index = 0;
+        for (int m = 0; m < members.size(); m++) {
+            long memberHash = hash(members.get(m));
+            for (int v = 0; v < virtualNodes; v++) {
+                entries[index][0] = mix(memberHash + v * 0x9E3779B97F4A7C15L);
+                entries[index][1] = m;
+                index++;
+            }
+        }
+        Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+        points = new long[size];
+        owners = new String[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            owners[i] = members.get((int) entries[i][1]);
+        }
+    }
+
+    public String owner(long key) {
+        int index = Arrays.binarySearch(points, mix(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public List<String> members() {
+        return members;
+    }
+
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,88 @@
+package leonbets.test.parser.shard;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Slf4j
+public class FileMembership implements ClusterMembership {
+
+    private static final String SUFFIX = ".member";
+
+    private final Path directory;
+    private final long ttlMillis;
+
+    public FileMembership(Path directory, Duration ttl) {
+        this.directory = directory;
+        this.ttlMillis = ttl.toMillis();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void heartbeat(Member member) {
+        Path target = file(member.id());
+        try {
+            Path temp = Files.createTempFile(directory, member.id().hashCode() + "-", ".tmp");
+            Files.writeString(temp, member.id() + "\n" + member.url() + "\n" + member.heartbeatAtMillis() + "\n",
+                    StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void leave(String memberId) {
+        try {
+            Files.deleteIfExists(file(memberId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<Member> members() {
+        long oldest = System.currentTimeMillis() - ttlMillis;
+        List<Member> members = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                Member member = read(file);
+                if (member != null && member.heartbeatAtMillis() >= oldest) {
+                    members.add(member);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        members.sort(Comparator.comparing(Member::id));
+        return members;
+    }
+
+    private Member read(Path file) {
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            return new Member(lines.get(0), lines.get(1), Long.parseLong(lines.get(2)));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Skipping unreadable membership file {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private Path file(String memberId) {
+        return directory.resolve(memberId.replaceAll("[^A-Za-z0-9._-]", "_") + SUFFIX);
+    }
+}
@@ -0,0 +1,8 @@
+package leonbets.test.parser.shard;
+
+public record Member(
+        String id,
+        String url,
+        long heartbeatAtMillis
+) {
+}
@@ -0,0 +1,144 @@
+package leonbets.test.parser.shard;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Slf4j
+public class ShardCoordinator {
+
+    @Value("${spring.parser.shard.enabled:false}")
+    private boolean enabled;
+
+    @Value("${spring.parser.shard.node.id:}")
+    private String nodeId;
+
+    @Value("${spring.parser.shard.advertised.url:http://localhost:${server.port:8080}}")
+    private String advertisedUrl;
+
+    @Value("${spring.parser.shard.membership:file}")
+    private String membershipType;
+
+    @Value("${spring.parser.shard.dir:shards}")
+    private String directory;
+
+    @Value("${spring.parser.shard.heartbeat.seconds:5}")
+    private long heartbeatSeconds;
+
+    @Value("${spring.parser.shard.ttl.seconds:15}")
+    private long ttlSeconds;
+
+    @Value("${spring.parser.shard.virtual.nodes:64}")
+    private int virtualNodes;
+
+    private final LongAdder rebalances = new LongAdder();
+    private final LongAdder ownedLeagues = new LongAdder();
+    private final LongAdder skippedLeagues = new LongAdder();
+
+    private ClusterMembership membership;
+    private ScheduledExecutorService heartbeat;
+    private volatile List<Member> members = List.of();
+    private volatile ConsistentHashRing ring;
+
+    public ShardCoordinator() {
+    }
+
+    public ShardCoordinator(String nodeId, String advertisedUrl, ClusterMembership membership, int virtualNodes) {
+        this.enabled = true;
+        this.nodeId = nodeId;
+        this.advertisedUrl = advertisedUrl;
+        this.membership = membership;
+        this.virtualNodes = virtualNodes;
+    }
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = ProcessHandle.current().pid() + "@" + advertisedUrl;
+        }
+        membership = switch (membershipType) {
+            case "file" -> new FileMembership(Path.of(directory), Duration.ofSeconds(ttlSeconds));
+            default -> throw new IllegalArgumentException("Unknown shard membership: " + membershipType);
+        };
+        refresh();
+        heartbeat = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("leonbets-shard").daemon(true).factory());
+        heartbeat.scheduleWithFixedDelay(this::refreshQuietly, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        log.info("Sharding enabled for node {} with {} membership", nodeId, membershipType);
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+        }
+        if (membership != null) {
+            membership.leave(nodeId);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public boolean owns(Long leagueId) {
+        ConsistentHashRing current = ring;
+        if (current == null || leagueId == null) {
+            return true;
+        }
+        boolean owned = current.owner(leagueId).equals(nodeId);
+        (owned ? ownedLeagues : skippedLeagues).increment();
+        return owned;
+    }
+
+    public List<Member> peers() {
+        return members.stream()
+                .filter(member -> !member.id().equals(nodeId))
+                .toList();
+    }
+
+    public synchronized void refresh() {
+        membership.heartbeat(new Member(nodeId, advertisedUrl, System.currentTimeMillis()));
+        List<Member> current = membership.members();
+        List<String> ids = current.isEmpty() ? List.of(nodeId) : current.stream().map(Member::id).toList();
+        if (ring == null || !ring.members().equals(ids)) {
+            ConsistentHashRing previous = ring;
+            ring = new ConsistentHashRing(ids, virtualNodes);
+            if (previous != null) {
+                rebalances.increment();
+            }
+            log.info("Shard membership is now {} ({} nodes)", ids, ids.size());
+        }
+        members = current;
+    }
+
+    public ShardStats stats() {
+        return new ShardStats(enabled, nodeId, members, rebalances.sum(), ownedLeagues.sum(), skippedLeagues.sum());
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("Shard membership refresh failed: {}", e.getMessage(), e);
+        }
+    }
+}
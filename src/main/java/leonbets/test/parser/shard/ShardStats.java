@@ -0,0 +1,13 @@
+package leonbets.test.parser.shard;
+
+import java.util.List;
+
+public record ShardStats(
+        boolean enabled,
+        String nodeId,
+        List<Member> members,
+        long rebalances,
+        long ownedLeagues,
+        long skippedLeagues
+) {
+}
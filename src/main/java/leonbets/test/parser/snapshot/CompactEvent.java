@@ -0,0 +1,184 @@
+package leonbets.test.parser.snapshot;
+
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.entity.Market;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.util.LeonbetsPrinter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CompactEvent {
+
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    private final int sport;
+    private final int region;
+    private final int league;
+    private final long eventId;
+    private final String eventName;
+    private final long kickoff;
+    private final boolean hasMarkets;
+
+    private final long[] marketIds;
+    private final int[] marketNames;
+    private final boolean[] marketOpen;
+    private final int[] runnerOffsets;
+
+    private final long[] runnerIds;
+    private final int[] runnerNames;
+    private final boolean[] runnerOpen;
+    private final int[] prices;
+    private final byte[] priceScales;
+
+    private CompactEvent(int sport, int region, int league, Event event, int marketCount, int runnerCount,
+                         boolean hasMarkets) {
+        this.sport = sport;
+        this.region = region;
+        this.league = league;
+        this.eventId = event.id() == null ? NULL_LONG : event.id();
+        this.eventName = event.name();
+        this.kickoff = event.kickoff() == null ? NULL_LONG : event.kickoff();
+        this.hasMarkets = hasMarkets;
+        this.marketIds = new long[marketCount];
+        this.marketNames = new int[marketCount];
+        this.marketOpen = new boolean[marketCount];
+        this.runnerOffsets = new int[marketCount + 1];
+        this.runnerIds = new long[runnerCount];
+        this.runnerNames = new int[runnerCount];
+        this.runnerOpen = new boolean[runnerCount];
+        this.prices = new int[runnerCount];
+        this.priceScales = new byte[runnerCount];
+    }
+
+    public static CompactEvent of(LeonbetsPrinter printer, NameTable names) {
+        MarketEnvelope envelope = printer.getMarketEnvelope();
+        List<Market> markets = envelope == null || envelope.markets() == null ? List.of() : envelope.markets();
+
+        int runnerCount = 0;
+        for (Market market : markets) {
+            runnerCount += market.runners() == null ? 0 : market.runners().size();
+        }
+
+        CompactEvent compact = new CompactEvent(names.intern(printer.getSportName()),
+                names.intern(printer.getRegionName()), names.intern(printer.getLeagueName()), printer.getEvent(),
+                markets.size(), runnerCount, envelope != null);
+
+        int runner = 0;
+        for (int m = 0; m < markets.size(); m++) {
+            Market market = markets.get(m);
+            compact.marketIds[m] = market.id() == null ? NULL_LONG : market.id();
+            compact.marketNames[m] = names.intern(market.name());
+            compact.marketOpen[m] = Boolean.TRUE.equals(market.open());
+            compact.runnerOffsets[m] = runner;
+            if (market.runners() == null) {
+                continue;
+            }
+            for (Runner source : market.runners()) {
+                compact.runnerIds[runner] = source.id() == null ? NULL_LONG : source.id();
+                compact.runnerNames[runner] = names.intern(source.name());
+                compact.runnerOpen[runner] = Boolean.TRUE.equals(source.open());
+                compact.setPrice(runner, source.priceStr(), names);
+                runner++;
+            }
+        }
+        compact.runnerOffsets[markets.size()] = runner;
+        return compact;
+    }
+
+    public int marketCount() {
+        return marketNames.length;
+    }
+
+    public int marketName(int market) {
+        return marketNames[market];
+    }
+
+    public boolean isMarketOpen(int market) {
+        return marketOpen[market];
+    }
+
+    public int firstRunner(int market) {
+        return runnerOffsets[market];
+    }
+
+    public int endRunner(int market) {
+        return runnerOffsets[market + 1];
+    }
+
+    public long runnerId(int runner) {
+        return runnerIds[runner];
+    }
+
+    public boolean isRunnerOpen(int runner) {
+        return runnerOpen[runner];
+    }
+
+    public boolean samePrice(int runner, CompactEvent other, int otherRunner) {
+        return prices[runner] == other.prices[otherRunner] && priceScales[runner] == other.priceScales[otherRunner];
+    }
+
+    public String price(int runner, NameTable names) {
+        byte scale = priceScales[runner];
+        return scale == DecimalOdds.UNPARSED ? names.name(prices[runner]) : DecimalOdds.format(prices[runner], scale);
+    }
+
+    public Runner runner(int runner, NameTable names) {
+        return new Runner(toLong(runnerIds[runner]), names.name(runnerNames[runner]), runnerOpen[runner],
+                price(runner, names));
+    }
+
+    public Event event() {
+        return new Event(toLong(eventId), eventName, toLong(kickoff));
+    }
+
+    public LeonbetsPrinter toPrinter(NameTable names) {
+        MarketEnvelope envelope = null;
+        if (hasMarkets) {
+            List<Market> markets = new ArrayList<>(marketNames.length);
+            for (int m = 0; m < marketNames.length; m++) {
+                List<Runner> runners = new ArrayList<>(endRunner(m) - firstRunner(m));
+                for (int r = firstRunner(m); r < endRunner(m); r++) {
+                    runners.add(runner(r, names));
+                }
+                markets.add(new Market(toLong(marketIds[m]), names.name(marketNames[m]), marketOpen[m], runners));
+            }
+            envelope = new MarketEnvelope(markets);
+        }
+        return new LeonbetsPrinter(names.name(sport), names.name(region), names.name(league), event(), envelope);
+    }
+
+    /**
+     * Copies this event with every name id moved from {@code from} into {@code to}, so a name table can be
+     * rebuilt from the events still in use.
+     */
+    public CompactEvent reintern(NameTable from, NameTable to) {
+        CompactEvent copy = new CompactEvent(to.intern(from.name(sport)), to.intern(from.name(region)),
+                to.intern(from.name(league)), event(), marketNames.length, runnerIds.length, hasMarkets);
+        for (int m = 0; m < marketNames.length; m++) {
+            copy.marketNames[m] = to.intern(from.name(marketNames[m]));
+        }
+        for (int r = 0; r < runnerIds.length; r++) {
+            copy.runnerNames[r] = to.intern(from.name(runnerNames[r]));
+            copy.prices[r] = priceScales[r] == DecimalOdds.UNPARSED ? to.intern(from.name(prices[r])) : prices[r];
+        }
+        System.arraycopy(marketIds, 0, copy.marketIds, 0, marketIds.length);
+        System.arraycopy(marketOpen, 0, copy.marketOpen, 0, marketOpen.length);
+        System.arraycopy(runnerOffsets, 0, copy.runnerOffsets, 0, runnerOffsets.length);
+        System.arraycopy(runnerIds, 0, copy.runnerIds, 0, runnerIds.length);
+        System.arraycopy(runnerOpen, 0, copy.runnerOpen, 0, runnerOpen.length);
+        System.arraycopy(priceScales, 0, copy.priceScales, 0, priceScales.length);
+        return copy;
+    }
+
+    private void setPrice(int runner, String price, NameTable names) {
+        byte scale = DecimalOdds.scale(price);
+        priceScales[runner] = scale;
+        prices[runner] = scale == DecimalOdds.UNPARSED ? names.intern(price) : DecimalOdds.unscaled(price);
+    }
+
+    private static Long toLong(long value) {
+        return value == NULL_LONG ? null : value;
+    }
+}
@@ -0,0 +1,55 @@
+package leonbets.test.parser.snapshot;
+
+public final class DecimalOdds {
+
+    public static final byte UNPARSED = -1;
+
+    private static final int MAX_DIGITS = 9;
+
+    private DecimalOdds() {
+    }
+
+    public static byte scale(String price) {
+        if (price == null || price.isEmpty()) {
+            return UNPARSED;
+        }
+        int digits = 0;
+        int dot = -1;
+        for (int i = 0; i < price.length(); i++) {
+            char c = price.charAt(i);
+            if (c == '.' && dot < 0 && i > 0 && i < price.length() - 1) {
+                dot = i;
+            } else if (c >= '0' && c <= '9') {
+                digits++;
+            } else {
+                return UNPARSED;
+            }
+        }
+        if (digits > MAX_DIGITS || (price.charAt(0) == '0' && digits > 1 && dot != 1)) {
+            return UNPARSED;
+        }
+        return (byte) (dot < 0 ? 0 : price.length() - dot - 1);
+    }
+
+    public static int unscaled(String price) {
+        int value = 0;
+        for (int i = 0; i < price.length(); i++) {
+            char c = price.charAt(i);
+            if (c != '.') {
+                value = value * 10 + (c - '0');
+            }
+        }
+        return value;
+    }
+
+    public static String format(int unscaled, byte scale) {
+        if (scale == 0) {
+            return Integer.toString(unscaled);
+        }
+        StringBuilder out = new StringBuilder(12).append(unscaled);
+        while (out.length() <= scale) {
+            out.insert(0, '0');
+        }
+        return out.insert(out.length() - scale, '.').toString();
+    }
+}
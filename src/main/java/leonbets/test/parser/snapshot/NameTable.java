@@ -0,0 +1,46 @@
+package leonbets.test.parser.snapshot;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class NameTable {
+
+    public static final int NULL = -1;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[256];
+    private int size;
+
+    public int intern(String name) {
+        if (name == null) {
+            return NULL;
+        }
+        Integer id = ids.get(name);
+        return id != null ? id : add(name);
+    }
+
+    public String name(int id) {
+        return id == NULL ? null : names[id];
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    private synchronized int add(String name) {
+        Integer existing = ids.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        String[] current = names;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        int id = size++;
+        current[id] = name;
+        names = current;
+        ids.put(name, id);
+        return id;
+    }
+}
@@ -0,0 +1,213 @@
+package leonbets.test.parser.store;
+
+import leonbets.test.parser.snapshot.CompactEvent;
+import leonbets.test.parser.snapshot.NameTable;
+import leonbets.test.parser.util.LeonbetsParserReactive;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import leonbets.test.parser.util.ParseFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OddsStore {
+
+    private static final Comparator<SortedEvent> READ_ORDER = Comparator
+            .comparing(SortedEvent::sport)
+            .thenComparing(SortedEvent::region)
+            .thenComparing(SortedEvent::league)
+            .thenComparing(SortedEvent::kickoff, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(SortedEvent::eventId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final LeonbetsParserReactive parser;
+
+    @Value("${spring.parser.store.max.staleness.seconds:30}")
+    private long maxStalenessSeconds;
+
+    @Value("${spring.parser.events.count}")
+    private int eventsPerLeague;
+
+    private final Map<EventKey, StoredEvent> events = new ConcurrentHashMap<>();
+    private final AtomicReference<Crawl> inFlight = new AtomicReference<>();
+    private final AtomicLong generations = new AtomicLong();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder coalescedReads = new LongAdder();
+    private final LongAdder passthroughReads = new LongAdder();
+    private final LongAdder staleReads = new LongAdder();
+
+    private volatile long generation;
+    private volatile long refreshedAtMillis;
+    private volatile View view = new View(List.of(), new NameTable());
+
+    public Flux<LeonbetsPrinter> read(ParseFilter filter) {
+        if (!filter.topOnly() || filter.eventLimit(eventsPerLeague) > eventsPerLeague) {
+            passthroughReads.increment();
+            return parser.parse(filter);
+        }
+        return Flux.defer(() -> {
+            reads.increment();
+            if (isFresh()) {
+                return Flux.fromIterable(snapshot(filter));
+            }
+            if (refreshedAtMillis > 0) {
+                staleReads.increment();
+                revalidate();
+                return Flux.fromIterable(snapshot(filter));
+            }
+            return refresh().filter(selection(filter));
+        });
+    }
+
+    public Flux<LeonbetsPrinter> refresh() {
+        while (true) {
+            Crawl crawl = inFlight.get();
+            if (crawl != null) {
+                coalescedReads.increment();
+                return crawl.events;
+            }
+            Crawl started = new Crawl(generations.incrementAndGet());
+            if (inFlight.compareAndSet(null, started)) {
+                return started.events;
+            }
+        }
+    }
+
+    public boolean isFresh() {
+        return refreshedAtMillis > 0
+                && System.currentTimeMillis() - refreshedAtMillis <= TimeUnit.SECONDS.toMillis(maxStalenessSeconds);
+    }
+
+    public StoreStats stats() {
+        long refreshedAt = refreshedAtMillis;
+        return new StoreStats(
+                events.size(),
+                generation,
+                refreshedAt,
+                refreshedAt == 0 ? -1 : System.currentTimeMillis() - refreshedAt,
+                TimeUnit.SECONDS.toMillis(maxStalenessSeconds),
+                inFlight.get() != null,
+                refreshes.sum(),
+                reads.sum(),
+                coalescedReads.sum(),
+                passthroughReads.sum(),
+                staleReads.sum());
+    }
+
+    /**
+     * Starts (or joins) a crawl in the background so a stale read can be answered from the previous snapshot.
+     */
+    private void revalidate() {
+        refresh().subscribe(printer -> {
+        }, e -> log.warn("Background odds store refresh failed: {}", e.getMessage()));
+    }
+
+    /**
+     * Reads the view sorted when the last refresh completed and only materialises printers for the events the
+     * filter selects.
+     */
+    private List<LeonbetsPrinter> snapshot(ParseFilter filter) {
+        View current = view;
+        int limit = filter.eventLimit(eventsPerLeague);
+        List<LeonbetsPrinter> printers = new ArrayList<>();
+        SortedEvent previous = null;
+        int inLeague = 0;
+        for (SortedEvent event : current.events()) {
+            if (!filter.matches(event.sport(), event.region(), event.league())) {
+                continue;
+            }
+            inLeague = previous != null && previous.sameLeague(event) ? inLeague + 1 : 1;
+            previous = event;
+            if (inLeague <= limit) {
+                printers.add(event.compact().toPrinter(current.names()));
+            }
+        }
+        return printers;
+    }
+
+    private Predicate<LeonbetsPrinter> selection(ParseFilter filter) {
+        int limit = filter.eventLimit(eventsPerLeague);
+        Map<LeagueKey, Integer> counts = new HashMap<>();
+        return printer -> filter.matches(printer)
+                && counts.merge(new LeagueKey(printer.getSportName(), printer.getRegionName(),
+                printer.getLeagueName()), 1, Integer::sum) <= limit;
+    }
+
+    private List<SortedEvent> sort() {
+        List<SortedEvent> sorted = new ArrayList<>(events.size());
+        events.forEach((key, stored) -> sorted.add(new SortedEvent(key.sport(), key.region(), key.league(),
+                stored.event().event().kickoff(), key.eventId(), stored.event())));
+        sorted.sort(READ_ORDER);
+        return List.copyOf(sorted);
+    }
+
+    private void store(LeonbetsPrinter printer, long crawlGeneration, NameTable names) {
+        EventKey key = new EventKey(printer.getSportName(), printer.getRegionName(), printer.getLeagueName(),
+                printer.getEvent().id());
+        events.put(key, new StoredEvent(crawlGeneration, CompactEvent.of(printer, names)));
+    }
+
+    /**
+     * Events of older generations are dropped here, so every remaining event was interned into this crawl's
+     * name table and names of delisted events go with the previous table.
+     */
+    private void complete(long crawlGeneration, NameTable names) {
+        events.values().removeIf(stored -> stored.generation() < crawlGeneration);
+        view = new View(sort(), names);
+        generation = crawlGeneration;
+        refreshedAtMillis = System.currentTimeMillis();
+        refreshes.increment();
+        log.debug("Odds store refreshed: generation={}, events={}", crawlGeneration, events.size());
+    }
+
+    private final class Crawl {
+        private final Flux<LeonbetsPrinter> events;
+
+        private Crawl(long crawlGeneration) {
+            NameTable names = new NameTable();
+            this.events = parser.parse()
+                    .doOnNext(printer -> store(printer, crawlGeneration, names))
+                    .doOnComplete(() -> complete(crawlGeneration, names))
+                    .doFinally(signal -> inFlight.compareAndSet(this, null))
+                    .cache();
+        }
+    }
+
+    private record EventKey(String sport, String region, String league, Long eventId) {
+    }
+
+    private record LeagueKey(String sport, String region, String league) {
+    }
+
+    private record StoredEvent(long generation, CompactEvent event) {
+    }
+
+    private record View(List<SortedEvent> events, NameTable names) {
+    }
+
+    private record SortedEvent(String sport, String region, String league, Long kickoff, Long eventId,
+                               CompactEvent compact) {
+
+        boolean sameLeague(SortedEvent other) {
+            return Objects.equals(sport, other.sport) && Objects.equals(region, other.region)
+                    && Objects.equals(league, other.league);
+        }
+    }
+}
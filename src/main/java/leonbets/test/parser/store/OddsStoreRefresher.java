@@ -0,0 +1,48 @@
+package leonbets.test.parser.store;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OddsStoreRefresher {
+
+    private final OddsStore store;
+
+    @Value("${spring.parser.store.refresh.interval.seconds:15}")
+    private long intervalSeconds;
+
+    private Disposable refresher;
+
+    public synchronized void start() {
+        if (refresher != null) {
+            return;
+        }
+        refresher = Flux.interval(Duration.ZERO, Duration.ofSeconds(intervalSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> store.refresh()
+                        .then()
+                        .onErrorResume(e -> {
+                            log.error("Odds store refresh failed: {}", e.getMessage(), e);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (refresher != null) {
+            refresher.dispose();
+            refresher = null;
+        }
+    }
+}
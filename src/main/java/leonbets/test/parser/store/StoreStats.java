@@ -0,0 +1,16 @@
+package leonbets.test.parser.store;
+
+public record StoreStats(
+        int size,
+        long generation,
+        long refreshedAtMillis,
+        long ageMillis,
+        long maxStalenessMillis,
+        boolean refreshing,
+        long refreshes,
+        long reads,
+        long coalescedReads,
+        long passthroughReads,
+        long staleReads
+) {
+}
@@ -0,0 +1,56 @@
+package leonbets.test.parser.util;
+
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.metrics.ParserMetrics;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public class CrawlScope {
+
+    private final ParserMetrics metrics;
+    private final Set<Long> leagues = ConcurrentHashMap.newKeySet();
+    private final Set<ListedEvent> events = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Mono<MarketEnvelope>> markets = new ConcurrentHashMap<>();
+
+    public CrawlScope(ParserMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public boolean claimLeague(Long leagueId) {
+        if (leagues.add(leagueId)) {
+            return true;
+        }
+        metrics.recordDuplicate("league");
+        return false;
+    }
+
+    public boolean claimEvent(Long leagueId, Long eventId) {
+        if (events.add(new ListedEvent(leagueId, eventId))) {
+            return true;
+        }
+        metrics.recordDuplicate("event");
+        return false;
+    }
+
+    public Mono<MarketEnvelope> markets(Long eventId, Function<Long, Mono<MarketEnvelope>> fetch) {
+        Mono<MarketEnvelope> shared = markets.get(eventId);
+        if (shared != null) {
+            metrics.recordDuplicate("markets");
+            return shared;
+        }
+        Mono<MarketEnvelope> created = fetch.apply(eventId).cache();
+        shared = markets.putIfAbsent(eventId, created);
+        if (shared != null) {
+            metrics.recordDuplicate("markets");
+            return shared;
+        }
+        return created;
+    }
+
+    private record ListedEvent(Long leagueId, Long eventId) {
+    }
+}
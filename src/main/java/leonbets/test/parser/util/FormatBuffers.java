@@ -0,0 +1,36 @@
+package leonbets.test.parser.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FormatBuffers {
+
+    private static final int INITIAL_CAPACITY = 16 * 1024;
+    private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+    private static final int MAX_POOLED = 64;
+
+    private final Queue<StringBuilder> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    public StringBuilder acquire() {
+        StringBuilder buffer = pool.poll();
+        if (buffer == null) {
+            return new StringBuilder(INITIAL_CAPACITY);
+        }
+        pooled.decrementAndGet();
+        return buffer;
+    }
+
+    public void release(StringBuilder buffer) {
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            return;
+        }
+        if (pooled.incrementAndGet() > MAX_POOLED) {
+            pooled.decrementAndGet();
+            return;
+        }
+        buffer.setLength(0);
+        pool.offer(buffer);
+    }
+}
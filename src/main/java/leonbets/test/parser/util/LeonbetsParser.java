@@ -1,22 +1,32 @@
 package leonbets.test.parser.util;
 
+import jakarta.annotation.PostConstruct;
+import leonbets.test.parser.analytics.MarketAnalytics;
+import leonbets.test.parser.client.CpuStage;
+import leonbets.test.parser.client.LeonbetsClient;
 import leonbets.test.parser.entity.*;
+import leonbets.test.parser.metrics.ParserMetrics;
+import leonbets.test.parser.output.OutputSink;
+import leonbets.test.parser.selection.SelectionIndex;
+import leonbets.test.parser.shard.ShardCoordinator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
-import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Component
@@ -26,45 +36,53 @@ public class LeonbetsParser {
 
     private static final String SPLITTER = ",";
 
-    private final WebClient webClient;
-
-    @Value("${spring.parser.url.base}")
-    private String baseUrl;
-
-    @Value("${spring.parser.url.sports}")
-    private String sportsEndpoint;
-
-    @Value("${spring.parser.url.events}")
-    private String eventsEndpoint;
-
-    @Value("${spring.parser.url.markets}")
-    private String marketsEndpoint;
+    private final LeonbetsClient client;
+    private final OutputSink outputSink;
+    private final ParserMetrics metrics;
+    private final CpuStage cpuStage;
+    private final ShardCoordinator shards;
+    private final SelectionIndex selection;
+    private final MarketAnalytics analytics;
 
     @Value("${spring.parser.sports}")
     private String sportList;
 
-    @Value("${spring.parser.threads.count}")
-    private int maxConcurrentTasks;
+    @Value("${spring.parser.threads.events:4}")
+    private int maxConcurrentEventFetches;
+
+    @Value("${spring.parser.threads.markets:8}")
+    private int maxConcurrentMarketFetches;
 
     @Value("${spring.parser.events.count}")
     private int eventsPerLeague;
 
-    public void parse() {
-        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
-        Semaphore semaphore = new Semaphore(maxConcurrentTasks);
+    private Semaphore eventPermits;
+    private Semaphore marketPermits;
+
+    @PostConstruct
+    void initPermits() {
+        eventPermits = new Semaphore(maxConcurrentEventFetches);
+        marketPermits = new Semaphore(maxConcurrentMarketFetches);
+    }
 
+    public void parse() {
         try {
+            parse(printer -> {
+                long startedAt = System.nanoTime();
+                printer.writeTo(outputSink);
+                metrics.recordFormat(System.nanoTime() - startedAt);
+            });
+        } finally {
+            outputSink.flush();
+        }
+    }
+
+    public void parse(Consumer<LeonbetsPrinter> consumer) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CrawlScope scope = new CrawlScope(metrics);
             List<String> chosenSports = List.of(sportList.split(SPLITTER));
 
-            List<Sport> responseSports = webClient.mutate()
-                    .baseUrl(baseUrl)
-                    .build()
-                    .get()
-                    .uri(sportsEndpoint)
-                    .retrieve()
-                    .bodyToFlux(new ParameterizedTypeReference<Sport>() {})
-                    .collectList()
-                    .block();
+            List<Sport> responseSports = fetch("sports", null, client::fetchSports);
 
             if (CollectionUtils.isEmpty(responseSports)) {
                 log.error("No sports found");
@@ -74,22 +92,28 @@ public class LeonbetsParser {
             Map<String, Sport> sportMap = responseSports.stream()
                     .collect(Collectors.toMap(Sport::name, Function.identity()));
 
+            List<CompletableFuture<Void>> leagueTasks = new ArrayList<>();
             for (String sportName : chosenSports) {
                 Sport sport = sportMap.get(sportName);
                 if (sport == null) {
                     log.error("Sport '{}' not found in received data", sportName);
                     continue;
                 }
+                if (!selection.selectsSport(sport.name())) {
+                    continue;
+                }
 
-                List<CompletableFuture<Void>> leagueTasks = processSport(sport, executor, semaphore);
-                CompletableFuture.allOf(leagueTasks.toArray(new CompletableFuture[0])).join();
+                leagueTasks.addAll(processSport(sport, scope, executor, consumer));
             }
-        } finally {
-            executor.close();
+
+            CompletableFuture.allOf(leagueTasks.toArray(new CompletableFuture[0])).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
-    private List<CompletableFuture<Void>> processSport(Sport sport, ExecutorService executor, Semaphore semaphore) {
+    private List<CompletableFuture<Void>> processSport(Sport sport, CrawlScope scope, ExecutorService executor,
+                                                        Consumer<LeonbetsPrinter> consumer) {
         if (CollectionUtils.isEmpty(sport.regions())) {
             log.error("No regions found for sport: {}", sport.name());
             return List.of();
@@ -97,38 +121,25 @@ public class LeonbetsParser {
 
         return sport.regions().stream()
                 .filter(region -> region.leagues() != null)
+                .filter(region -> selection.selectsRegion(region.name()))
                 .flatMap(region ->
                         region.leagues().stream()
                                 .filter(League::top)
+                                .filter(league -> selection.selectsLeague(league.name()))
+                                .filter(league -> shards.owns(league.id()))
+                                .filter(league -> scope.claimLeague(league.id()))
                                 .map(league -> Map.entry(region, league))
                 )
-                .map(entry -> {
-                    Region region = entry.getKey();
-                    League league = entry.getValue();
-                    return CompletableFuture.runAsync(() -> {
-                        try {
-                            semaphore.acquire();
-                            try {
-                                processLeague(sport.name(), region.name(), league);
-                            } finally {
-                                semaphore.release();
-                            }
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                        }
-                    }, executor);
-                })
+                .map(entry -> CompletableFuture.runAsync(() -> processLeague(
+                        sport.name(), entry.getKey().name(), entry.getValue(), scope, executor, consumer), executor))
                 .collect(Collectors.toList());
     }
 
-    private void processLeague(String sportName, String regionName, League league) {
+    private void processLeague(String sportName, String regionName, League league, CrawlScope scope,
+                               ExecutorService executor, Consumer<LeonbetsPrinter> consumer) {
+        long startedAt = System.nanoTime();
         try {
-            String url = baseUrl + String.format(eventsEndpoint, league.id());
-            EventEnvelope eventEnvelope = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(EventEnvelope.class)
-                    .block();
+            EventEnvelope eventEnvelope = fetch("events", eventPermits, () -> client.fetchEvents(league.id()));
 
             if (eventEnvelope == null || CollectionUtils.isEmpty(eventEnvelope.events())) {
                 log.error("No events found for sport='{}', league='{}' with id={}",
@@ -136,37 +147,67 @@ public class LeonbetsParser {
                 return;
             }
 
-            eventEnvelope.events().stream()
+            List<CompletableFuture<Void>> marketTasks = eventEnvelope.events().stream()
+                    .filter(event -> scope.claimEvent(league.id(), event.id()))
                     .limit(eventsPerLeague)
                     .map(event -> new LeonbetsPrinter(sportName, regionName, league.name(), event, null))
-                    .forEach(this::processMarket);
+                    .map(printer -> CompletableFuture.runAsync(() -> processMarket(printer, scope, consumer), executor))
+                    .toList();
+
+            CompletableFuture.allOf(marketTasks.toArray(new CompletableFuture[0])).join();
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
+            metrics.recordError("league", e);
             log.error("Failed to process league={} with id={} for sport={}: {}",
                     league.name(), league.id(), sportName, e.getMessage(), e);
+        } finally {
+            metrics.recordLeague("blocking", sportName, league.id(), System.nanoTime() - startedAt);
         }
     }
 
-    private void processMarket(LeonbetsPrinter printer) {
+    private void processMarket(LeonbetsPrinter printer, CrawlScope scope, Consumer<LeonbetsPrinter> consumer) {
         try {
-            String url = baseUrl + String.format(marketsEndpoint, printer.getEvent().id());
-            MarketEnvelope marketEnvelope = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(MarketEnvelope.class)
-                    .block();
+            MarketEnvelope marketEnvelope = fetch("markets", marketPermits,
+                    () -> scope.markets(printer.getEvent().id(), client::fetchMarkets));
 
+            if (!selection.selectsEvent(marketEnvelope)) {
+                return;
+            }
             printer.setMarketEnvelope(marketEnvelope);
 
-            printer.printToConsole();
-            //printer.writeToFile(Path.of("leonbets.txt"));
+            CompletableFuture.runAsync(() -> {
+                analytics.observe(printer);
+                consumer.accept(printer);
+            }, cpuStage).join();
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
+            Throwable error = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            metrics.recordError("market", error);
             log.error("Failed to process market for eventId={}, league='{}', sport='{}': {}",
                     printer.getEvent().id(),
                     printer.getLeagueName(),
                     printer.getSportName(),
-                    e.getMessage(), e);
+                    error.getMessage(), error);
+        }
+    }
+
+    private <T> T fetch(String stage, Semaphore stagePermits, Supplier<Mono<T>> request)
+            throws InterruptedException {
+        if (stagePermits != null) {
+            long startedAt = System.nanoTime();
+            stagePermits.acquire();
+            metrics.recordSemaphoreWait(stage, System.nanoTime() - startedAt);
+        }
+        try {
+            return request.get().block();
+        } finally {
+            if (stagePermits != null) {
+                stagePermits.release();
+            }
         }
     }
 }
@@ -1,21 +1,25 @@
 package leonbets.test.parser.util;
 
-import leonbets.test.parser.entity.EventEnvelope;
+import leonbets.test.parser.client.AdaptiveConcurrencyLimiter;
+import leonbets.test.parser.analytics.MarketAnalytics;
+import leonbets.test.parser.client.CpuStage;
+import leonbets.test.parser.client.LeonbetsClient;
 import leonbets.test.parser.entity.League;
-import leonbets.test.parser.entity.MarketEnvelope;
 import leonbets.test.parser.entity.Sport;
+import leonbets.test.parser.metrics.ParserMetrics;
+import leonbets.test.parser.selection.SelectionIndex;
+import leonbets.test.parser.shard.ShardCoordinator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 
 
 @Component
@@ -25,19 +29,13 @@ public class LeonbetsParserReactive {
 
     private static final String SPLITTER = ",";
 
-    private final WebClient webClient;
-
-    @Value("${spring.parser.url.base}")
-    private String baseUrl;
-
-    @Value("${spring.parser.url.sports}")
-    private String sportsEndpoint;
-
-    @Value("${spring.parser.url.events}")
-    private String eventsEndpoint;
-
-    @Value("${spring.parser.url.markets}")
-    private String marketsEndpoint;
+    private final LeonbetsClient client;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ParserMetrics metrics;
+    private final CpuStage cpuStage;
+    private final ShardCoordinator shards;
+    private final SelectionIndex selection;
+    private final MarketAnalytics analytics;
 
     @Value("${spring.parser.sports}")
     private String sportList;
@@ -45,27 +43,41 @@ public class LeonbetsParserReactive {
     @Value("${spring.parser.events.count}")
     private int eventsPerLeague;
 
-    @Value("${spring.parser.threads.count}")
-    private int maxConcurrentTasks;
-
     public Flux<LeonbetsPrinter> parse() {
+        return parse(ParseFilter.ALL);
+    }
+
+    public Flux<LeonbetsPrinter> parse(ParseFilter filter) {
+        return Flux.defer(() -> {
+            CrawlScope scope = new CrawlScope(metrics);
+            return crawl(filter, scope, printer -> processMarket(printer, scope));
+        });
+    }
+
+    public Flux<LeonbetsPrinter> events(ParseFilter filter) {
+        return Flux.defer(() -> crawl(filter, new CrawlScope(metrics), Mono::just));
+    }
+
+    private Flux<LeonbetsPrinter> crawl(ParseFilter filter, CrawlScope scope,
+                                        Function<LeonbetsPrinter, Mono<LeonbetsPrinter>> eventStage) {
         List<String> chosenSports = List.of(sportList.split(SPLITTER));
 
-        return webClient.get()
-                .uri(baseUrl + sportsEndpoint)
-                .retrieve()
-                .bodyToFlux(Sport.class)
+        return client.fetchSports()
+                .flatMapIterable(sports -> sports)
                 .collectMap(Sport::name)
                 .flatMapMany(sportMap ->
                         Flux.fromIterable(chosenSports)
                                 .map(sportMap::get)
                                 .filter(Objects::nonNull)
-                                .concatMap(this::processSport)
+                                .filter(filter::matches)
+                                .filter(sport -> selection.selectsSport(sport.name()))
+                                .concatMap(sport -> processSport(sport, filter, scope, eventStage))
                 )
                 .onErrorContinue((e, o) -> log.error("Failed processing object: {}", o, e));
     }
 
-    private Flux<LeonbetsPrinter> processSport(Sport sport) {
+    private Flux<LeonbetsPrinter> processSport(Sport sport, ParseFilter filter, CrawlScope scope,
+                                               Function<LeonbetsPrinter, Mono<LeonbetsPrinter>> eventStage) {
         if (CollectionUtils.isEmpty(sport.regions())) {
             log.error("No regions for sport: {}", sport.name());
             return Flux.empty();
@@ -73,23 +85,38 @@ public class LeonbetsParserReactive {
 
         return Flux.fromIterable(sport.regions())
                 .filter(region -> region.leagues() != null)
+                .filter(filter::matches)
+                .filter(region -> selection.selectsRegion(region.name()))
                 .flatMap(region ->
                         Flux.fromIterable(region.leagues())
-                                .filter(League::top)
+                                .filter(filter::matches)
+                                .filter(league -> selection.selectsLeague(league.name()))
+                                .filter(league -> shards.owns(league.id()))
+                                .filter(league -> scope.claimLeague(league.id()))
                                 .flatMap(
-                                        league -> processLeague(sport.name(), region.name(), league),
-                                        maxConcurrentTasks
+                                        league -> processLeague(sport.name(), region.name(), league,
+                                                filter.eventLimit(eventsPerLeague), scope, eventStage),
+                                        limiter.getMaxLimit()
                                 )
                 );
     }
 
-    private Flux<LeonbetsPrinter> processLeague(String sportName, String regionName, League league) {
-        String url = baseUrl + String.format(eventsEndpoint, league.id());
+    private Flux<LeonbetsPrinter> processLeague(String sportName, String regionName, League league,
+                                                int eventLimit, CrawlScope scope,
+                                                Function<LeonbetsPrinter, Mono<LeonbetsPrinter>> eventStage) {
+        return Flux.defer(() -> {
+            long startedAt = System.nanoTime();
+            return crawlLeague(sportName, regionName, league, eventLimit, scope, eventStage)
+                    .doOnError(e -> metrics.recordError("league", e))
+                    .doFinally(signal -> metrics.recordLeague(
+                            "reactive", sportName, league.id(), System.nanoTime() - startedAt));
+        });
+    }
 
-        return webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(EventEnvelope.class)
+    private Flux<LeonbetsPrinter> crawlLeague(String sportName, String regionName, League league,
+                                              int eventLimit, CrawlScope scope,
+                                              Function<LeonbetsPrinter, Mono<LeonbetsPrinter>> eventStage) {
+        return client.fetchEvents(league.id())
                 .flatMapMany(env -> {
                     if (env == null || CollectionUtils.isEmpty(env.events())) {
                         log.error("No events for sport={}, league={}", sportName, league.name());
@@ -97,8 +124,9 @@ public class LeonbetsParserReactive {
                     }
 
                     return Flux.fromIterable(env.events())
-                            .take(eventsPerLeague)
-                            .flatMap(event -> processMarket(
+                            .filter(event -> scope.claimEvent(league.id(), event.id()))
+                            .take(eventLimit)
+                            .flatMap(event -> eventStage.apply(
                                     new LeonbetsPrinter(
                                             sportName,
                                             regionName,
@@ -109,16 +137,15 @@ public class LeonbetsParserReactive {
                 });
     }
 
-    private Mono<LeonbetsPrinter> processMarket(LeonbetsPrinter printer) {
-        String url = baseUrl + String.format(marketsEndpoint, printer.getEvent().id());
-
-        return webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(MarketEnvelope.class)
+    private Mono<LeonbetsPrinter> processMarket(LeonbetsPrinter printer, CrawlScope scope) {
+        return scope.markets(printer.getEvent().id(), client::fetchMarkets)
+                .publishOn(cpuStage.scheduler())
+                .filter(selection::selectsEvent)
                 .doOnNext(printer::setMarketEnvelope)
+                .doOnNext(marketEnvelope -> analytics.observe(printer))
                 .map(marketEnvelope -> printer)
                 .onErrorResume(e -> {
+                    metrics.recordError("market", e);
                     log.error("Failed to fetch market for eventId={}: {}", printer.getEvent().id(), e.getMessage());
                     return Mono.empty();
                 });
@@ -1,26 +1,22 @@
 package leonbets.test.parser.util;
 
+import leonbets.test.parser.dto.EventView;
 import leonbets.test.parser.entity.Event;
 import leonbets.test.parser.entity.Market;
 import leonbets.test.parser.entity.MarketEnvelope;
 import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.output.OutputSink;
+import leonbets.test.parser.output.StructuredOutputSink;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-
-import static java.lang.String.format;
+import java.util.Objects;
 
 @AllArgsConstructor
 @Data
@@ -31,84 +27,104 @@ public class LeonbetsPrinter {
     private Event event;
     private MarketEnvelope marketEnvelope;
 
-    private static final Map<Path, Object> fileLocks = new ConcurrentHashMap<>();
-    private static final String HEADER_FORMAT = "%s, %s %s%n";
-    private static final String EVENT_INFO_FORMAT = "\t%s, %s UTC, %d%n";
-    private static final String MARKET_NAME_FORMAT = "\t\t%s%n";
-    private static final String RUNNER_FORMAT = "\t\t\t%s, %s, %d%n";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final Comparator<Market> BY_NAME = Comparator.comparing(Market::name);
     private static final DateTimeFormatter DATE_FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.of("UTC"));
+    private static final int KICKOFF_CACHE_SIZE = 1024;
+    private static final FormattedKickoff[] KICKOFF_CACHE = new FormattedKickoff[KICKOFF_CACHE_SIZE];
+    private static final FormatBuffers BUFFERS = new FormatBuffers();
 
-    public void printToConsole() {
-        synchronized (System.out) {
-            System.out.println(generateFormattedOutput());
+    public void writeTo(OutputSink sink) {
+        if (sink instanceof StructuredOutputSink structured) {
+            structured.writeValue(EventView.from(this));
+            return;
+        }
+        StringBuilder buffer = BUFFERS.acquire();
+        try {
+            sink.write(formatTo(buffer).append(LINE_SEPARATOR));
+        } finally {
+            BUFFERS.release(buffer);
         }
     }
 
-    public void writeToFile(Path filePath) {
-        Object lock = fileLocks.computeIfAbsent(filePath, p -> new Object());
-        synchronized (lock) {
-            try {
-                Files.writeString(
-                        filePath,
-                        generateFormattedOutput() + System.lineSeparator(),
-                        StandardOpenOption.CREATE,
-                        StandardOpenOption.APPEND
-                );
-            } catch (IOException ex) {
-                throw new RuntimeException("Could not write to file: " + filePath, ex);
-            }
+    public String generateFormattedOutput() {
+        StringBuilder buffer = BUFFERS.acquire();
+        try {
+            return formatTo(buffer).toString();
+        } finally {
+            BUFFERS.release(buffer);
         }
     }
 
-    private String generateFormattedOutput() {
-        return new StringBuilder()
-//                .append("[Thread: ").append(Thread.currentThread()).append("]\n")
-                .append(formatHeader())
-                .append(formatEventDetails())
-                .append(formatMarkets())
-                .toString();
+    public StringBuilder formatTo(StringBuilder out) {
+//        out.append("[Thread: ").append(Thread.currentThread()).append("]\n");
+        appendHeader(out);
+        appendEventDetails(out);
+        appendMarkets(out);
+        return out;
     }
 
-    private String formatHeader() {
-        return format(HEADER_FORMAT, sportName, regionName, leagueName);
+    private void appendHeader(StringBuilder out) {
+        out.append(sportName).append(", ").append(regionName).append(' ').append(leagueName).append(LINE_SEPARATOR);
     }
 
-    private String formatEventDetails() {
-        String startTime = DATE_FORMATTER.format(Instant.ofEpochMilli(event.kickoff()));
-        return format(EVENT_INFO_FORMAT, event.name(), startTime, event.id());
+    private void appendEventDetails(StringBuilder out) {
+        out.append('\t').append(event.name())
+                .append(", ").append(formatKickoff(event.kickoff())).append(" UTC, ")
+                .append(event.id()).append(LINE_SEPARATOR);
     }
 
-    private String formatMarkets() {
-        StringBuilder marketBuilder = new StringBuilder();
-        Map<String, List<Runner>> markets = collectRunnersByMarket(marketEnvelope);
+    private void appendMarkets(StringBuilder out) {
+        List<Market> openMarkets = new ArrayList<>(marketEnvelope.markets().size());
+        for (Market market : marketEnvelope.markets()) {
+            if (Boolean.TRUE.equals(market.open())) {
+                openMarkets.add(market);
+            }
+        }
+        openMarkets.sort(BY_NAME);
 
-        for (Map.Entry<String, List<Runner>> entry : markets.entrySet()) {
-            String marketName = entry.getKey();
-            List<Runner> openRunners = entry.getValue().stream()
-                    .filter(Runner::open)
-                    .toList();
+        int groupStart = 0;
+        while (groupStart < openMarkets.size()) {
+            String marketName = openMarkets.get(groupStart).name();
+            int groupEnd = groupStart + 1;
+            while (groupEnd < openMarkets.size() && Objects.equals(marketName, openMarkets.get(groupEnd).name())) {
+                groupEnd++;
+            }
+            appendMarketGroup(out, marketName, openMarkets, groupStart, groupEnd);
+            groupStart = groupEnd;
+        }
+    }
 
-            if (!openRunners.isEmpty()) {
-                marketBuilder.append(format(MARKET_NAME_FORMAT, marketName));
-                openRunners.forEach(runner ->
-                        marketBuilder.append(format(RUNNER_FORMAT,
-                                runner.name(), runner.priceStr(), runner.id())));
+    private void appendMarketGroup(StringBuilder out, String marketName, List<Market> markets, int from, int to) {
+        boolean headerWritten = false;
+        for (int i = from; i < to; i++) {
+            for (Runner runner : markets.get(i).runners()) {
+                if (!Boolean.TRUE.equals(runner.open())) {
+                    continue;
+                }
+                if (!headerWritten) {
+                    out.append("\t\t").append(marketName).append(LINE_SEPARATOR);
+                    headerWritten = true;
+                }
+                out.append("\t\t\t").append(runner.name())
+                        .append(", ").append(runner.priceStr())
+                        .append(", ").append(runner.id()).append(LINE_SEPARATOR);
             }
         }
+    }
 
-        return marketBuilder.toString();
+    public static String formatKickoff(long kickoff) {
+        int slot = (int) (Long.hashCode(kickoff) & (KICKOFF_CACHE_SIZE - 1));
+        FormattedKickoff cached = KICKOFF_CACHE[slot];
+        if (cached != null && cached.millis() == kickoff) {
+            return cached.text();
+        }
+        String text = DATE_FORMATTER.format(Instant.ofEpochMilli(kickoff));
+        KICKOFF_CACHE[slot] = new FormattedKickoff(kickoff, text);
+        return text;
     }
 
-    private Map<String, List<Runner>> collectRunnersByMarket(MarketEnvelope marketEnvelope) {
-        return marketEnvelope.markets().stream()
-                .filter(Market::open)
-                .flatMap(market -> market.runners().stream()
-                        .map(runner -> Map.entry(market.name(), runner)))
-                .collect(Collectors.groupingBy(
-                        Map.Entry::getKey,
-                        TreeMap::new,
-                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())
-                ));
+    private record FormattedKickoff(long millis, String text) {
     }
 }
@@ -0,0 +1,48 @@
+package leonbets.test.parser.util;
+
+import leonbets.test.parser.entity.League;
+import leonbets.test.parser.entity.Region;
+import leonbets.test.parser.entity.Sport;
+
+public record ParseFilter(
+        String sport,
+        String region,
+        String league,
+        boolean topOnly,
+        Integer eventLimit
+) {
+    public static final ParseFilter ALL = new ParseFilter(null, null, null, true, null);
+
+    public ParseFilter {
+        if (eventLimit != null && eventLimit < 1) {
+            throw new IllegalArgumentException("eventLimit must be positive: " + eventLimit);
+        }
+    }
+
+    public boolean matches(Sport candidate) {
+        return sport == null || sport.equalsIgnoreCase(candidate.name());
+    }
+
+    public boolean matches(Region candidate) {
+        return region == null || region.equalsIgnoreCase(candidate.name());
+    }
+
+    public boolean matches(League candidate) {
+        return (!topOnly || Boolean.TRUE.equals(candidate.top()))
+                && (league == null || league.equalsIgnoreCase(candidate.name()));
+    }
+
+    public boolean matches(LeonbetsPrinter printer) {
+        return matches(printer.getSportName(), printer.getRegionName(), printer.getLeagueName());
+    }
+
+    public boolean matches(String sportName, String regionName, String leagueName) {
+        return (sport == null || sport.equalsIgnoreCase(sportName))
+                && (region == null || region.equalsIgnoreCase(regionName))
+                && (league == null || league.equalsIgnoreCase(leagueName));
+    }
+
+    public int eventLimit(int defaultLimit) {
+        return eventLimit == null ? defaultLimit : eventLimit;
+    }
+}
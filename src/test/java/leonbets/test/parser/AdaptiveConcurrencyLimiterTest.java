@@ -0,0 +1,84 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.client.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void limit_queuesRequestsAboveCurrentLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 8, 2.0, 0.5, 100);
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        AtomicBoolean thirdStarted = new AtomicBoolean();
+
+        limiter.limit(first.asMono()).subscribe();
+        limiter.limit(second.asMono()).subscribe();
+        limiter.limit(Mono.fromCallable(() -> {
+            thirdStarted.set(true);
+            return "third";
+        })).subscribe();
+
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.stats().queued()).isEqualTo(1);
+        assertThat(thirdStarted).isFalse();
+
+        first.tryEmitValue("first");
+
+        assertThat(thirdStarted).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void limit_cancelledRequestsReleaseTheirPermit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 8, 2.0, 0.5, 100);
+
+        Disposable running = limiter.limit(Mono.never()).subscribe();
+        Disposable queued = limiter.limit(Mono.never()).subscribe();
+        queued.dispose();
+        running.dispose();
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.limit(Mono.just("next")).block()).isEqualTo("next");
+    }
+
+    @Test
+    void limit_growsWhileLatencyIsFlatAndBacksOffOnOverload() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 16, 100.0, 0.5, 1000);
+
+        for (int round = 0; round < 50; round++) {
+            Sinks.One<String> held = Sinks.one();
+            limiter.limit(held.asMono()).subscribe();
+            limiter.limit(Mono.just("ok")).block();
+            held.tryEmitValue("ok");
+        }
+        int grown = limiter.getLimit();
+        assertThat(grown).isGreaterThan(2);
+
+        limiter.limit(Mono.error(WebClientResponseException.create(
+                HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests", null, null, null))).onErrorComplete().block();
+
+        assertThat(limiter.getLimit()).isEqualTo(Math.max(1, grown / 2));
+        assertThat(limiter.stats().drops()).isEqualTo(1);
+    }
+
+    @Test
+    void limit_ignoresClientErrorsForLimitAdjustment() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 16, 2.0, 0.5, 100);
+
+        limiter.limit(Mono.error(WebClientResponseException.create(
+                HttpStatus.NOT_FOUND.value(), "Not Found", null, null, null))).onErrorComplete().block();
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
@@ -0,0 +1,69 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.entity.Market;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.snapshot.CompactEvent;
+import leonbets.test.parser.snapshot.DecimalOdds;
+import leonbets.test.parser.snapshot.NameTable;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactEventTest {
+
+    @Test
+    void toPrinter_roundTripsEntityGraph() {
+        LeonbetsPrinter printer = new LeonbetsPrinter("Football", "England", "Premier League",
+                new Event(1970324845261391L, "Team A - Team B", 1_700_000_000_000L),
+                new MarketEnvelope(List.of(
+                        new Market(1L, "Winner", true, List.of(
+                                new Runner(1L, "1", true, "1.85"),
+                                new Runner(2L, "X", true, "3.40"),
+                                new Runner(3L, "2", false, "12"))),
+                        new Market(2L, "Total", false, List.of(
+                                new Runner(4L, "Over 2.5", true, "0.05"),
+                                new Runner(5L, "Under 2.5", true, "1/2"))),
+                        new Market(3L, "Handicap", true, List.of()))));
+        NameTable names = new NameTable();
+
+        LeonbetsPrinter restored = CompactEvent.of(printer, names).toPrinter(names);
+
+        assertThat(restored).isEqualTo(printer);
+        assertThat(restored.generateFormattedOutput()).isEqualTo(printer.generateFormattedOutput());
+    }
+
+    @Test
+    void reintern_movesNamesIntoNewTable() {
+        LeonbetsPrinter printer = new LeonbetsPrinter("Tennis", "World", "ATP",
+                new Event(7L, "Player A - Player B", null),
+                new MarketEnvelope(List.of(new Market(4L, "Winner", true, List.of(
+                        new Runner(1L, "Player A", true, "1.50"),
+                        new Runner(2L, null, false, "5/2"))))));
+        NameTable old = new NameTable();
+        old.intern("Delisted League");
+        CompactEvent compact = CompactEvent.of(printer, old);
+        NameTable fresh = new NameTable();
+
+        CompactEvent moved = compact.reintern(old, fresh);
+
+        assertThat(moved.toPrinter(fresh)).isEqualTo(printer);
+        assertThat(fresh.size()).isEqualTo(old.size() - 1);
+    }
+
+    @Test
+    void decimalOdds_keepsExactPriceText() {
+        for (String price : List.of("1", "1.7", "1.70", "0.5", "0.05", "101.25", "999999999")) {
+            byte scale = DecimalOdds.scale(price);
+            assertThat(scale).isNotEqualTo(DecimalOdds.UNPARSED);
+            assertThat(DecimalOdds.format(DecimalOdds.unscaled(price), scale)).isEqualTo(price);
+        }
+        for (String price : List.of("", "1/2", "-1.5", "1.", ".5", "1.2.3", "01.5", "1234567890")) {
+            assertThat(DecimalOdds.scale(price)).isEqualTo(DecimalOdds.UNPARSED);
+        }
+    }
+}
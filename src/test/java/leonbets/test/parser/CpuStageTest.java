@@ -0,0 +1,80 @@
+package leonbets.test.parser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leonbets.test.parser.client.CpuStage;
+import leonbets.test.parser.client.CpuStageStats;
+import leonbets.test.parser.metrics.ParserMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class CpuStageTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CpuStage cpuStage = new CpuStage(new ParserMetrics(registry), 1, 1);
+
+    @Test
+    void scheduler_runsWorkOnCpuWorkersAndRecordsQueueWait() {
+        String thread = Mono.fromCallable(() -> Thread.currentThread().getName())
+                .subscribeOn(cpuStage.scheduler())
+                .block();
+
+        assertThat(thread).startsWith("leonbets-cpu-");
+
+        assertThat(registry.get(ParserMetrics.CPU_QUEUE_WAIT).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_rejectsWhenQueueIsFullInsteadOfRunningOnCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        cpuStage.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        cpuStage.execute(() -> {
+        });
+
+        AtomicBoolean ranOnCaller = new AtomicBoolean();
+        Thread caller = Thread.currentThread();
+        Throwable blocking = catchThrowable(() -> CompletableFuture
+                .runAsync(() -> ranOnCaller.set(Thread.currentThread() == caller), cpuStage).join());
+        Throwable reactive = catchThrowable(() -> Mono.just(1).publishOn(cpuStage.scheduler()).block());
+        CpuStageStats full = cpuStage.stats();
+        release.countDown();
+
+        assertThat(blocking).isInstanceOf(RejectedExecutionException.class);
+        assertThat(reactive).isInstanceOf(RejectedExecutionException.class);
+        assertThat(ranOnCaller).isFalse();
+        assertThat(full.queued()).isEqualTo(1);
+        assertThat(full.rejected()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_rejectsAfterShutdownInsteadOfDroppingTask() {
+        ReflectionTestUtils.invokeMethod(cpuStage, "shutdown");
+
+        assertThatThrownBy(() -> CompletableFuture.runAsync(() -> {
+        }, cpuStage).join()).isInstanceOf(RejectedExecutionException.class);
+        assertThat(cpuStage.stats().rejected()).isEqualTo(1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.shard.ClusterMembership;
+import leonbets.test.parser.shard.Member;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Membership shared by coordinators built in the same test; each node of a real cluster runs in its own JVM.
+ */
+final class InMemoryMembership implements ClusterMembership {
+
+    private final Map<String, Member> members = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    InMemoryMembership(Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    @Override
+    public void heartbeat(Member member) {
+        members.put(member.id(), member);
+    }
+
+    @Override
+    public void leave(String memberId) {
+        members.remove(memberId);
+    }
+
+    @Override
+    public List<Member> members() {
+        long oldest = System.currentTimeMillis() - ttlMillis;
+        return members.values().stream()
+                .filter(member -> member.heartbeatAtMillis() >= oldest)
+                .sorted(Comparator.comparing(Member::id))
+                .toList();
+    }
+}
@@ -1,40 +1,57 @@
 package leonbets.test.parser;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import leonbets.test.parser.config.BinaryCodecConfig;
+import leonbets.test.parser.config.JacksonConfig;
 import leonbets.test.parser.controller.LeonbetsController;
+import leonbets.test.parser.dto.EventView;
 import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.entity.Market;
 import leonbets.test.parser.entity.MarketEnvelope;
-import leonbets.test.parser.util.LeonbetsParserReactive;
+import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.output.OutputFormat;
+import leonbets.test.parser.store.OddsStore;
 import leonbets.test.parser.util.LeonbetsPrinter;
+import leonbets.test.parser.util.ParseFilter;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(LeonbetsController.class)
-@Import(LeonbetsControllerMockTest.MockConfig.class)
+@Import({LeonbetsControllerMockTest.MockConfig.class, BinaryCodecConfig.class})
 class LeonbetsControllerMockTest {
 
     @TestConfiguration
     static class MockConfig {
         @Bean
-        public LeonbetsParserReactive leonbetsParserReactive() {
-            LeonbetsParserReactive mock = mock(LeonbetsParserReactive.class);
+        public OddsStore oddsStore() {
+            OddsStore mock = mock(OddsStore.class);
 
             Event mockEvent = new Event(1970326913799811L, "Team A vs Team B", System.currentTimeMillis());
             LeonbetsPrinter printer = new LeonbetsPrinter(
-                    "Football", "England", "Premier League", mockEvent, new MarketEnvelope(List.of())
+                    "Football", "England", "Premier League", mockEvent, new MarketEnvelope(List.of(
+                    new Market(1L, "Winner", true, List.of(
+                            new Runner(1L, "Team A", true, "1.85"),
+                            new Runner(2L, "Team B", false, "2.10"))),
+                    new Market(2L, "Total", false, List.of(
+                            new Runner(3L, "Over 2.5", true, "1.95")))))
             );
 
-            when(mock.parse()).thenReturn(Flux.just(printer));
+            when(mock.read(any(ParseFilter.class))).thenAnswer(invocation -> Flux.just(printer));
 
             return mock;
         }
@@ -43,6 +60,9 @@ class LeonbetsControllerMockTest {
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private OddsStore store;
+
     @Test
     void getParsedMarkets_returnsExpectedResults() {
         webTestClient.get()
@@ -56,4 +76,57 @@ class LeonbetsControllerMockTest {
                     assert result.getSportName().equals("Football");
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    void streamParsedSports_appliesFilterAndStreamsOpenMarketsOnly() {
+        webTestClient.get()
+                .uri("/api/sports?sport=Football&league=Premier League&eventLimit=5")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(EventView.class)
+                .hasSize(1)
+                .value(list -> {
+                    EventView view = list.getFirst();
+                    assertThat(view.markets()).hasSize(1);
+                    assertThat(view.markets().getFirst().runners())
+                            .extracting("name")
+                            .containsExactly("Team A");
+                });
+
+        verify(store).read(new ParseFilter("Football", null, "Premier League", true, 5));
+    }
+
+    @Test
+    void streamParsedSports_negotiatesSmileAndCbor() throws Exception {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        for (OutputFormat format : List.of(OutputFormat.SMILE, OutputFormat.CBOR)) {
+            MediaType mediaType = format == OutputFormat.SMILE
+                    ? MediaType.parseMediaType("application/x-jackson-smile")
+                    : MediaType.APPLICATION_CBOR;
+            byte[] body = webTestClient.get()
+                    .uri("/api/sports")
+                    .accept(mediaType)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(mediaType)
+                    .expectBody(byte[].class)
+                    .returnResult()
+                    .getResponseBody();
+
+            EventView[] views = format.mapper(objectMapper).readValue(body, EventView[].class);
+            assertThat(views).singleElement()
+                    .satisfies(view -> assertThat(view.markets()).extracting("name").containsExactly("Winner"));
+        }
+    }
+
+    @Test
+    void streamParsedSports_rejectsInvalidEventLimit() {
+        webTestClient.get()
+                .uri("/api/sports?eventLimit=0")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,85 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.entity.Market;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeonbetsPrinterTest {
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.of("UTC"));
+
+    @Test
+    void generateFormattedOutput_matchesStringFormatLayout() {
+        MarketEnvelope markets = new MarketEnvelope(List.of(
+                new Market(1L, "Winner", true, List.of(
+                        new Runner(1L, "1", true, "1.85"),
+                        new Runner(2L, "X", false, "3.4"),
+                        new Runner(3L, "2", true, "4.2"))),
+                new Market(2L, "Total", true, List.of(
+                        new Runner(4L, "Over 2.5", true, "1.9"))),
+                new Market(3L, "Closed", false, List.of(
+                        new Runner(5L, "Yes", true, "2"))),
+                new Market(4L, "Total", true, List.of(
+                        new Runner(6L, "Under 2.5", true, "1.95"))),
+                new Market(5L, "All closed", true, List.of(
+                        new Runner(7L, "No", false, "1.1"))),
+                new Market(6L, "Asian Handicap", true, List.of(
+                        new Runner(8L, "Home (-1.5)", true, "2.05")))
+        ));
+
+        for (long kickoff : new long[]{1747000000000L, 0L, 1747000000000L, 1747007200123L}) {
+            LeonbetsPrinter printer = new LeonbetsPrinter("Football", "England", "Premier League",
+                    new Event(1970326913799811L, "Arsenal - Chelsea", kickoff), markets);
+
+            assertThat(printer.generateFormattedOutput()).isEqualTo(legacyFormat(printer));
+        }
+    }
+
+    @Test
+    void generateFormattedOutput_handlesEmptyMarkets() {
+        LeonbetsPrinter printer = new LeonbetsPrinter("Tennis", "International", "ATP",
+                new Event(42L, "A - B", 1747000000000L), new MarketEnvelope(List.of()));
+
+        assertThat(printer.generateFormattedOutput()).isEqualTo(legacyFormat(printer));
+    }
+
+    private static String legacyFormat(LeonbetsPrinter printer) {
+        StringBuilder builder = new StringBuilder()
+                .append(format("%s, %s %s%n", printer.getSportName(), printer.getRegionName(), printer.getLeagueName()))
+                .append(format("\t%s, %s UTC, %d%n", printer.getEvent().name(),
+                        DATE_FORMATTER.format(Instant.ofEpochMilli(printer.getEvent().kickoff())),
+                        printer.getEvent().id()));
+
+        Map<String, List<Runner>> markets = printer.getMarketEnvelope().markets().stream()
+                .filter(Market::open)
+                .flatMap(market -> market.runners().stream().map(runner -> Map.entry(market.name(), runner)))
+                .collect(Collectors.groupingBy(Map.Entry::getKey, TreeMap::new,
+                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+
+        markets.forEach((marketName, runners) -> {
+            List<Runner> openRunners = runners.stream().filter(Runner::open).toList();
+            if (!openRunners.isEmpty()) {
+                builder.append(format("\t\t%s%n", marketName));
+                openRunners.forEach(runner -> builder.append(
+                        format("\t\t\t%s, %s, %d%n", runner.name(), runner.priceStr(), runner.id())));
+            }
+        });
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,147 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.util.LeonbetsParser;
+import leonbets.test.parser.util.LeonbetsParserReactive;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+final class LoadHarness implements AutoCloseable {
+
+    record Report(String engine, int crawls, long events, double eventsPerSecond, double crawlMeanMillis,
+                  double crawlMaxMillis, double requestP50Millis, double requestP99Millis,
+                  double requestP999Millis, double requestMaxMillis, long peakHeapMb, long allocatedMb,
+                  long upstreamRequests, long upstreamErrors) {
+
+        String format() {
+            return String.format("%-9s crawls=%d events=%d throughput=%.1f events/s crawl mean=%.1f ms max=%.1f ms "
+                            + "request p50=%.1f ms p99=%.1f ms p99.9=%.1f ms max=%.1f ms peakHeap=%d MB "
+                            + "allocated=%d MB upstream=%d requests (%d errors)",
+                    engine, crawls, events, eventsPerSecond, crawlMeanMillis, crawlMaxMillis, requestP50Millis,
+                    requestP99Millis, requestP999Millis, requestMaxMillis, peakHeapMb, allocatedMb,
+                    upstreamRequests, upstreamErrors);
+        }
+    }
+
+    private final UpstreamSimulator simulator;
+    private final ConfigurableApplicationContext context;
+
+    LoadHarness(UpstreamSimulator.Line line, UpstreamSimulator.Faults faults, String... extraArgs) {
+        simulator = new UpstreamSimulator(line, faults);
+        String[] args = Stream.concat(Stream.of(
+                        "--spring.parser.url.base=" + simulator.baseUrl(),
+                        "--spring.parser.sports=" + line.sportNames(),
+                        "--spring.parser.events.count=" + line.listedEventsPerLeague(),
+                        "--spring.autostart.parse=false",
+                        "--spring.parser.store.refresh.enabled=false",
+                        "--spring.parser.cache.sports.max.entries=0",
+                        "--spring.parser.cache.events.max.entries=0",
+                        "--spring.parser.cache.markets.max.entries=0",
+                        "--logging.level.root=WARN"), Arrays.stream(extraArgs))
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(ParserApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+
+    UpstreamSimulator simulator() {
+        return simulator;
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    Report blocking(int crawls) {
+        LeonbetsParser parser = context.getBean(LeonbetsParser.class);
+        return run("blocking", crawls, () -> {
+            LongAdder events = new LongAdder();
+            parser.parse(printer -> events.increment());
+            return events.sum();
+        });
+    }
+
+    Report reactive(int crawls) {
+        LeonbetsParserReactive parser = context.getBean(LeonbetsParserReactive.class);
+        return run("reactive", crawls, () -> {
+            Long events = parser.parse().count().block();
+            return events == null ? 0 : events;
+        });
+    }
+
+    private Report run(String engine, int crawls, LongSupplier crawl) {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long requestsBefore = simulator.requests();
+        long errorsBefore = simulator.errors();
+        int latenciesBefore = simulator.recordedLatencies();
+        long allocatedBefore = threads.getTotalThreadAllocatedBytes();
+
+        long slowestCrawl = 0;
+        long events = 0;
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < crawls; i++) {
+            long crawlStartedAt = System.nanoTime();
+            events += crawl.getAsLong();
+            slowestCrawl = Math.max(slowestCrawl, System.nanoTime() - crawlStartedAt);
+        }
+        long elapsed = System.nanoTime() - startedAt;
+
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        long allocated = threads.getTotalThreadAllocatedBytes() - allocatedBefore;
+        long requests = simulator.requests() - requestsBefore;
+        long[] latencies = requestLatencies(latenciesBefore, requests);
+        return new Report(engine, crawls, events, events / (elapsed / 1e9),
+                millis(elapsed / crawls), millis(slowestCrawl),
+                millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                millis(percentile(latencies, 0.999)), millis(percentile(latencies, 1.0)),
+                peakHeap >> 20, allocated >> 20, requests, simulator.errors() - errorsBefore);
+    }
+
+    /**
+     * Sorted per-request latencies of the run. The server records a request only after its response is sent, so
+     * the last few may land just after the crawl that received them returns.
+     */
+    private long[] requestLatencies(int from, long requests) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (simulator.recordedLatencies() - from < requests && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        long[] latencies = simulator.latenciesSince(from);
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.max(0, Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        simulator.close();
+    }
+}
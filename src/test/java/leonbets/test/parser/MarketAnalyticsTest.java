@@ -0,0 +1,137 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.analytics.MarketAlert;
+import leonbets.test.parser.analytics.MarketAnalytics;
+import leonbets.test.parser.analytics.MarketStats;
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.entity.Market;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+class MarketAnalyticsTest {
+
+    private static final Event EVENT = new Event(7L, "Home - Away", 1_700_000_000_000L);
+
+    @Test
+    void observe_tracksOverroundAndRaisesMoveAndSuspensionAlerts() {
+        MarketAnalytics analytics = new MarketAnalytics(0.1, 60);
+        List<MarketAlert> alerts = new ArrayList<>();
+        analytics.alerts().subscribe(alerts::add);
+        Market total = market(2L, "Total", true, runner(4L, "1.90"));
+
+        analytics.observe(printer(total,
+                market(1L, "Winner", true, runner(1L, "2.00"), runner(2L, "3.40"), runner(3L, "4.00"),
+                        runner(5L, "1/2"))), 1000L);
+        analytics.observe(printer(total,
+                market(1L, "Winner", true, runner(1L, "2.10"), runner(2L, "3.40"), runner(3L, "3.00"))), 2000L);
+
+        MarketStats winner = analytics.markets(7L).stream()
+                .filter(market -> market.marketName().equals("Winner"))
+                .findFirst().orElseThrow();
+        assertThat(winner.openRunners()).isEqualTo(3);
+        assertThat(winner.overround()).isCloseTo(1 / 2.1 + 1 / 3.4 + 1 / 3.0, within(1e-12));
+        assertThat(winner.margin()).isCloseTo(winner.overround() - 1, within(1e-12));
+        assertThat(winner.minPrice()).isEqualTo(2.1);
+        assertThat(winner.maxPrice()).isEqualTo(3.4);
+        assertThat(winner.updates()).isEqualTo(5);
+        assertThat(winner.lastChange()).isEqualTo(2000L);
+        assertThat(alerts).singleElement().satisfies(alert -> {
+            assertThat(alert.type()).isEqualTo(MarketAlert.Type.MOVE);
+            assertThat(alert.runnerId()).isEqualTo(3L);
+            assertThat(alert.change()).isCloseTo(-0.25, within(1e-12));
+        });
+
+        analytics.observe(printer(total), 3000L);
+
+        assertThat(alerts).last().extracting(MarketAlert::type).isEqualTo(MarketAlert.Type.SUSPENDED);
+        assertThat(analytics.markets(7L)).extracting(MarketStats::marketName, MarketStats::openRunners)
+                .containsExactly(tuple("Total", 1), tuple("Winner", 0));
+        assertThat(analytics.markets(8L)).isEmpty();
+        assertThat(analytics.stats().moveAlerts()).isEqualTo(1);
+        assertThat(analytics.stats().suspensionAlerts()).isEqualTo(1);
+    }
+
+    @Test
+    void observe_incrementalAggregatesMatchFullRecomputation() {
+        MarketAnalytics analytics = new MarketAnalytics(1.0, 60);
+        Map<Long, Integer> prices = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int update = 0; update < 2_000; update++) {
+            long runnerId = random.nextInt(6);
+            if (prices.containsKey(runnerId) && random.nextInt(5) == 0) {
+                prices.remove(runnerId);
+            } else {
+                prices.put(runnerId, 101 + random.nextInt(2_000));
+            }
+            Runner[] runners = prices.entrySet().stream()
+                    .map(entry -> runner(entry.getKey(), decimal(entry.getValue())))
+                    .toArray(Runner[]::new);
+            analytics.observe(printer(market(1L, "Winner", true, runners)), update);
+
+            MarketStats stats = analytics.markets(7L).getFirst();
+            assertThat(stats.openRunners()).isEqualTo(prices.size());
+            assertThat(stats.overround())
+                    .isCloseTo(prices.values().stream().mapToDouble(cents -> 100.0 / cents).sum(), within(1e-9));
+            if (!prices.isEmpty()) {
+                assertThat(stats.minPrice()).isEqualTo(prices.values().stream().min(Integer::compare).orElseThrow() / 100.0);
+                assertThat(stats.maxPrice()).isEqualTo(prices.values().stream().max(Integer::compare).orElseThrow() / 100.0);
+            }
+        }
+    }
+
+    @Test
+    void observe_keepsSameNamedMarketsApartAndClosesOnlyTheClosedOne() {
+        MarketAnalytics analytics = new MarketAnalytics(0.1, 60);
+        List<MarketAlert> alerts = new ArrayList<>();
+        analytics.alerts().subscribe(alerts::add);
+
+        analytics.observe(printer(
+                market(10L, "Total", true, runner(1L, "1.80"), runner(2L, "2.00")),
+                market(11L, "Total", true, runner(3L, "1.50"), runner(4L, "2.60"))), 1000L);
+        analytics.observe(printer(
+                market(10L, "Total", true, runner(1L, "1.80"), runner(2L, "2.00")),
+                market(11L, "Total", false, runner(3L, "1.50"), runner(4L, "2.60"))), 2000L);
+
+        assertThat(analytics.markets(7L))
+                .extracting(MarketStats::marketId, MarketStats::marketName, MarketStats::openRunners)
+                .containsExactly(tuple(10L, "Total", 2), tuple(11L, "Total", 0));
+        MarketStats open = analytics.markets(7L).getFirst();
+        assertThat(open.overround()).isCloseTo(1 / 1.8 + 1 / 2.0, within(1e-12));
+        assertThat(open.minPrice()).isEqualTo(1.8);
+        assertThat(open.maxPrice()).isEqualTo(2.0);
+        assertThat(alerts).singleElement().satisfies(alert -> {
+            assertThat(alert.type()).isEqualTo(MarketAlert.Type.SUSPENDED);
+            assertThat(alert.marketId()).isEqualTo(11L);
+        });
+    }
+
+    private static LeonbetsPrinter printer(Market... markets) {
+        return new LeonbetsPrinter("Football", "England", "Premier League", EVENT,
+                new MarketEnvelope(List.of(markets)));
+    }
+
+    private static Market market(long id, String name, boolean open, Runner... runners) {
+        return new Market(id, name, open, List.of(runners));
+    }
+
+    private static Runner runner(long id, String price) {
+        return new Runner(id, "Runner " + id, true, price);
+    }
+
+    private static String decimal(int cents) {
+        return cents / 100 + "." + cents / 10 % 10 + cents % 10;
+    }
+}
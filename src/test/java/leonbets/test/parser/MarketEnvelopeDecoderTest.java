@@ -0,0 +1,113 @@
+package leonbets.test.parser;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leonbets.test.parser.client.MarketEnvelopeDecoder;
+import leonbets.test.parser.entity.Market;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.metrics.ParserMetrics;
+import leonbets.test.parser.selection.SelectionIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MarketEnvelopeDecoderTest {
+
+    private static final String PAYLOAD = """
+            {"id": 1970326913799811, "name": "Team A vs Team B", "nested": {"markets": [1, 2]},
+             "markets": [
+               {"id": 1, "runners": [
+                   {"id": 11, "name": "1", "open": true, "priceStr": "1.85", "tags": ["a", {"b": null}]},
+                   {"id": 12, "name": "X", "open": false, "priceStr": "3.4"},
+                   {"id": 13, "name": "2", "open": true, "price": 4.2, "priceStr": "4.2"}
+                 ], "name": "Match Result", "open": true},
+               {"id": 2, "name": "Total", "open": false, "runners": [
+                   {"id": 21, "name": "Over 2.5", "open": true, "priceStr": "1.9"}
+                 ]},
+               {"id": 3, "name": "Both teams to score — ÜÖ", "open": true, "extra": {"x": [[], {}]},
+                "runners": [{"id": 31, "name": "Yes", "open": true, "priceStr": "2"}]}
+             ],
+             "trailer": [{"markets": []}]}
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final MarketEnvelopeDecoder decoder = new MarketEnvelopeDecoder(objectMapper,
+            new ParserMetrics(new SimpleMeterRegistry()), new SelectionIndex());
+
+    @Test
+    void decode_skipsClosedMarketsRunnersAndUnknownFields() {
+        MarketEnvelope expected = new MarketEnvelope(List.of(
+                new Market(1L, "Match Result", true, List.of(
+                        new Runner(11L, "1", true, "1.85"),
+                        new Runner(13L, "2", true, "4.2"))),
+                new Market(3L, "Both teams to score — ÜÖ", true, List.of(
+                        new Runner(31L, "Yes", true, "2")))
+        ));
+
+        for (int chunkSize : new int[]{1, 3, 7, 64, PAYLOAD.length() * 4}) {
+            assertThat(decoder.decode(chunks(PAYLOAD, chunkSize)).block()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void decode_dropsUnselectedMarketsAndRunners() {
+        SelectionIndex selection = new SelectionIndex(null, null, null, "match*,Total", "1");
+        MarketEnvelopeDecoder selective = new MarketEnvelopeDecoder(objectMapper,
+                new ParserMetrics(new SimpleMeterRegistry()), selection);
+
+        for (int chunkSize : new int[]{1, 7, PAYLOAD.length() * 4}) {
+            assertThat(selective.decode(chunks(PAYLOAD, chunkSize)).block()).isEqualTo(new MarketEnvelope(List.of(
+                    new Market(1L, "Match Result", true, List.of(new Runner(11L, "1", true, "1.85"))))));
+        }
+        assertThat(selection.stats().skippedMarkets()).isEqualTo(3);
+        assertThat(selection.stats().skippedRunners()).isEqualTo(3);
+    }
+
+    @Test
+    void decode_matchesJacksonForOpenMarkets() throws Exception {
+        MarketEnvelope full = objectMapper.readValue(PAYLOAD, MarketEnvelope.class);
+
+        MarketEnvelope streamed = decoder.decode(chunks(PAYLOAD, 16)).block();
+
+        assertThat(streamed.markets())
+                .extracting(Market::name)
+                .containsExactlyElementsOf(full.markets().stream()
+                        .filter(Market::open)
+                        .map(Market::name)
+                        .toList());
+    }
+
+    @Test
+    void decode_emptyBodyCompletesEmpty() {
+        assertThat(decoder.decode(Flux.empty()).block()).isNull();
+    }
+
+    @Test
+    void decode_truncatedBodyFails() {
+        assertThatThrownBy(() -> decoder.decode(chunks(PAYLOAD.substring(0, PAYLOAD.length() / 2), 32)).block())
+                .isInstanceOf(DecodingException.class);
+    }
+
+    private static Flux<DataBuffer> chunks(String json, int chunkSize) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            byte[] chunk = Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + chunkSize));
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
@@ -0,0 +1,60 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.delta.EventDelta;
+import leonbets.test.parser.delta.OddsDeltaTracker;
+import leonbets.test.parser.delta.RunnerChange;
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.entity.Market;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OddsDeltaTrackerTest {
+
+    private final OddsDeltaTracker tracker = new OddsDeltaTracker();
+
+    @Test
+    void track_diffsAcrossNameTableCompaction() {
+        tracker.track(printer(1L, "Winner", "1.85", "1/2"), 1);
+        for (long eventId = 2; eventId < 10_000; eventId++) {
+            tracker.track(printer(eventId, "Market " + eventId, "2.00", "3/2"), 1);
+            tracker.evict(eventId);
+        }
+
+        List<RunnerChange> changes = tracker.track(printer(1L, "Winner", "1.90", "1/2"), 2).changes();
+
+        assertThat(changes).hasSize(1);
+        assertThat(changes.get(0).type()).isEqualTo(RunnerChange.Type.CHANGED);
+        assertThat(changes.get(0).marketName()).isEqualTo("Winner");
+        assertThat(changes.get(0).runner()).isEqualTo(new Runner(1L, "Home", true, "1.90"));
+        assertThat(changes.get(0).previousPrice()).isEqualTo("1.85");
+        assertThat(tracker.size()).isEqualTo(1);
+    }
+
+    @Test
+    void generateFormattedOutput_matchesStringFormatLayout() {
+        Event event = new Event(7L, "Team A - Team B", 1_700_000_000_000L);
+        EventDelta delta = new EventDelta("Football", "England", "Premier League", event, List.of(
+                new RunnerChange("Total", new Runner(3L, "Over 2.5", true, "1.95"), null, RunnerChange.Type.OPENED),
+                new RunnerChange("Winner", new Runner(1L, "Home", true, "1.90"), "1.85", RunnerChange.Type.CHANGED),
+                new RunnerChange("Winner", new Runner(2L, "Away", false, "4.2"), "4.0", RunnerChange.Type.CLOSED)));
+
+        assertThat(delta.generateFormattedOutput()).isEqualTo(String.format(
+                "Football, England Premier League%n\tTeam A - Team B, 2023-11-14 22:13:20 UTC, 7%n"
+                        + "\t\tTotal%n\t\t\tOver 2.5, 1.95, 3%n"
+                        + "\t\tWinner%n\t\t\tHome, 1.85 -> 1.90, 1%n\t\t\tAway, closed, 2%n"));
+    }
+
+    private static LeonbetsPrinter printer(Long eventId, String market, String homePrice, String awayPrice) {
+        return new LeonbetsPrinter("Football", "England", "Premier League",
+                new Event(eventId, "Team A - Team B", 1_700_000_000_000L),
+                new MarketEnvelope(List.of(new Market(1L, market, true, List.of(
+                        new Runner(1L, "Home", true, homePrice),
+                        new Runner(2L, "Away", true, awayPrice))))));
+    }
+}
@@ -0,0 +1,87 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.delta.EventDelta;
+import leonbets.test.parser.delta.RunnerChange;
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.journal.OddsJournal;
+import leonbets.test.parser.journal.OddsJournalReader;
+import leonbets.test.parser.journal.OddsTick;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OddsJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reader_returnsEventHistoryAcrossBlocksAndSegments() throws IOException {
+        List<OddsTick> written = new ArrayList<>();
+        try (OddsJournal journal = new OddsJournal(directory, 4096, Long.MAX_VALUE, 512, 0)) {
+            for (int cycle = 0; cycle < 50; cycle++) {
+                for (long event = 1; event <= 20; event++) {
+                    OddsTick tick = new OddsTick(1_700_000_000_000L + cycle * 10_000L,
+                            1970324845261000L + event, "Winner", event * 100 + cycle % 3,
+                            cycle % 7 == 0 ? "1/2" : "1." + (10 + cycle), cycle % 5 != 0);
+                    journal.append(tick);
+                    written.add(tick);
+                }
+                journal.flush();
+            }
+        }
+
+        OddsJournalReader reader = new OddsJournalReader(directory);
+        long eventId = 1970324845261007L;
+
+        assertThat(segmentCount()).isGreaterThan(1);
+        assertThat(reader.history(eventId))
+                .containsExactlyElementsOf(written.stream().filter(tick -> tick.eventId() == eventId).toList());
+    }
+
+    @Test
+    void reader_scansTimeRange() {
+        try (OddsJournal journal = new OddsJournal(directory, 1 << 20, Long.MAX_VALUE, 256, 0)) {
+            for (int i = 0; i < 100; i++) {
+                journal.append(new OddsTick(1000L + i, 42L, "Total", 7L, i % 2 == 0 ? "2.05" : null, true));
+            }
+        }
+
+        List<OddsTick> ticks = new ArrayList<>();
+        new OddsJournalReader(directory).scan(1010L, 1020L, ticks::add);
+
+        assertThat(ticks).extracting(OddsTick::timestamp)
+                .containsExactly(1010L, 1011L, 1012L, 1013L, 1014L, 1015L, 1016L, 1017L, 1018L, 1019L);
+        assertThat(ticks.getFirst().price()).isEqualTo("2.05");
+        assertThat(ticks.get(1).price()).isNull();
+    }
+
+    @Test
+    void onDelta_skipsRunnersWithoutId() {
+        Event event = new Event(42L, "A - B", 1_700_000_000_000L);
+        try (OddsJournal journal = new OddsJournal(directory, 1 << 20, Long.MAX_VALUE, 256, 0)) {
+            journal.onDelta(new EventDelta("Football", "England", "Premier League", event, List.of(
+                    new RunnerChange("Winner", new Runner(null, "Draw", true, "3.10"), null, RunnerChange.Type.OPENED),
+                    new RunnerChange("Winner", new Runner(7L, "A", true, "1.90"), null, RunnerChange.Type.OPENED))),
+                    1000L);
+        }
+
+        assertThat(new OddsJournalReader(directory).history(42L))
+                .containsExactly(new OddsTick(1000L, 42L, "Winner", 7L, "1.90", true));
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
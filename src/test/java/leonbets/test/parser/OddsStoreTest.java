@@ -0,0 +1,135 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.store.OddsStore;
+import leonbets.test.parser.util.LeonbetsParserReactive;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import leonbets.test.parser.util.ParseFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OddsStoreTest {
+
+    private final LeonbetsParserReactive parser = mock(LeonbetsParserReactive.class);
+    private final AtomicInteger crawls = new AtomicInteger();
+    private final OddsStore store = new OddsStore(parser);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(store, "maxStalenessSeconds", 30L);
+        ReflectionTestUtils.setField(store, "eventsPerLeague", 2);
+    }
+
+    @Test
+    void read_concurrentCallersShareOneCrawl() {
+        Sinks.Many<LeonbetsPrinter> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        when(parser.parse()).thenReturn(upstream.asFlux().doOnSubscribe(s -> crawls.incrementAndGet()));
+
+        Flux<LeonbetsPrinter> first = store.read(ParseFilter.ALL);
+        Flux<LeonbetsPrinter> second = store.read(new ParseFilter("Tennis", null, null, true, null));
+        var firstResult = first.collectList().toFuture();
+        var secondResult = second.collectList().toFuture();
+
+        upstream.tryEmitNext(printer("Football", "England", "Premier League", 1L));
+        upstream.tryEmitNext(printer("Tennis", "World", "ATP", 2L));
+        upstream.tryEmitComplete();
+
+        assertThat(crawls).hasValue(1);
+        assertThat(firstResult.join()).hasSize(2);
+        assertThat(secondResult.join()).extracting(LeonbetsPrinter::getSportName).containsExactly("Tennis");
+        assertThat(store.stats().coalescedReads()).isEqualTo(1);
+    }
+
+    @Test
+    void read_servesFreshSnapshotWithoutUpstreamCalls() {
+        when(parser.parse()).thenReturn(Flux.just(
+                printer("Football", "England", "Premier League", 3L),
+                printer("Football", "England", "Premier League", 1L),
+                printer("Football", "England", "Premier League", 2L)
+        ).doOnSubscribe(s -> crawls.incrementAndGet()));
+
+        store.refresh().blockLast();
+        List<LeonbetsPrinter> result = store.read(new ParseFilter(null, null, null, true, 2)).collectList().block();
+
+        assertThat(crawls).hasValue(1);
+        assertThat(store.isFresh()).isTrue();
+        assertThat(result).extracting(printer -> printer.getEvent().id()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void read_servesStaleSnapshotAndRefreshesInBackground() {
+        Sinks.Many<LeonbetsPrinter> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        when(parser.parse())
+                .thenReturn(Flux.just(printer("Tennis", "World", "ATP", 1L),
+                        printer("Football", "England", "Premier League", 2L)))
+                .thenReturn(upstream.asFlux().doOnSubscribe(s -> crawls.incrementAndGet()));
+        store.refresh().blockLast();
+        ReflectionTestUtils.setField(store, "maxStalenessSeconds", -1L);
+
+        List<LeonbetsPrinter> stale = store.read(new ParseFilter("Tennis", null, null, true, null))
+                .collectList().block();
+
+        assertThat(stale).extracting(printer -> printer.getEvent().id()).containsExactly(1L);
+        assertThat(crawls).hasValue(1);
+        assertThat(store.stats().refreshing()).isTrue();
+        assertThat(store.stats().staleReads()).isEqualTo(1);
+
+        upstream.tryEmitNext(printer("Tennis", "World", "ATP", 3L));
+        upstream.tryEmitComplete();
+
+        assertThat(store.stats().refreshes()).isEqualTo(2);
+        assertThat(store.stats().size()).isEqualTo(1);
+    }
+
+    @Test
+    void refresh_dropsEventsMissingFromLatestCrawl() {
+        when(parser.parse())
+                .thenReturn(Flux.just(printer("Football", "England", "Premier League", 1L),
+                        printer("Football", "England", "Premier League", 2L)))
+                .thenReturn(Flux.just(printer("Football", "England", "Premier League", 2L)));
+
+        store.refresh().blockLast();
+        store.refresh().blockLast();
+
+        assertThat(store.stats().size()).isEqualTo(1);
+        assertThat(store.stats().refreshes()).isEqualTo(2);
+    }
+
+    @Test
+    void read_appliesFilterAndLimitPerLeagueToSortedSnapshot() {
+        when(parser.parse()).thenReturn(Flux.just(
+                printer("Tennis", "World", "ATP", 7L),
+                printer("Football", "Spain", "La Liga", 5L),
+                printer("Football", "England", "Premier League", 3L),
+                printer("Football", "Spain", "La Liga", 4L),
+                printer("Football", "England", "Premier League", 1L),
+                printer("Football", "Spain", "La Liga", 6L),
+                printer("Football", "England", "Premier League", 2L)
+        ));
+
+        store.refresh().blockLast();
+        List<LeonbetsPrinter> football = store.read(new ParseFilter("football", null, null, true, null))
+                .collectList().block();
+        List<LeonbetsPrinter> spain = store.read(new ParseFilter(null, "Spain", null, true, 1))
+                .collectList().block();
+
+        assertThat(football).extracting(printer -> printer.getEvent().id()).containsExactly(1L, 2L, 4L, 5L);
+        assertThat(spain).extracting(printer -> printer.getEvent().id()).containsExactly(4L);
+    }
+
+    private static LeonbetsPrinter printer(String sport, String region, String league, Long eventId) {
+        return new LeonbetsPrinter(sport, region, league, new Event(eventId, "A - B", 1_700_000_000_000L),
+                new MarketEnvelope(List.of()));
+    }
+}
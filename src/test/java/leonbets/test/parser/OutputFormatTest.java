@@ -0,0 +1,105 @@
+package leonbets.test.parser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leonbets.test.parser.config.JacksonConfig;
+import leonbets.test.parser.delta.EventDelta;
+import leonbets.test.parser.delta.RunnerChange;
+import leonbets.test.parser.dto.EventView;
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.entity.Market;
+import leonbets.test.parser.entity.MarketEnvelope;
+import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.metrics.ParserMetrics;
+import leonbets.test.parser.output.FileOutputSink;
+import leonbets.test.parser.output.StructuredFileOutputSink;
+import leonbets.test.parser.output.OutputFileReader;
+import leonbets.test.parser.output.OutputFormat;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutputFormatTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final ParserMetrics metrics = new ParserMetrics(new SimpleMeterRegistry());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void fileSink_roundTripsBinaryFormatsAcrossAppendsAndShrinksOutput() throws IOException {
+        List<LeonbetsPrinter> printers = printers(40);
+        List<EventView> expected = printers.stream().map(EventView::from).toList();
+        Path text = directory.resolve("events.txt");
+        write(text, OutputFormat.TEXT, false, printers);
+
+        for (OutputFormat format : List.of(OutputFormat.SMILE, OutputFormat.CBOR)) {
+            for (boolean gzip : new boolean[]{false, true}) {
+                Path file = directory.resolve("events-" + format + (gzip ? ".gz" : ""));
+                write(file, format, gzip, printers.subList(0, 25));
+                write(file, format, gzip, printers.subList(25, printers.size()));
+
+                assertThat(new OutputFileReader(format, objectMapper).readAll(file, EventView.class))
+                        .isEqualTo(expected);
+                if (gzip) {
+                    assertThat(Files.size(file)).isLessThan(Files.size(text) / 2);
+                }
+            }
+        }
+    }
+
+    @Test
+    void fileSink_writesDeltasAsStructuredRecords() throws IOException {
+        Event event = new Event(7L, "Home - Away", 1_700_000_000_000L);
+        EventDelta delta = new EventDelta("Football", "England", "Premier League", event, List.of(
+                new RunnerChange("Winner", new Runner(71L, "1", true, "1.90"), "1.85", RunnerChange.Type.CHANGED),
+                new RunnerChange("Winner", new Runner(72L, "2", false, null), null, RunnerChange.Type.CLOSED)));
+        Path file = directory.resolve("deltas.cbor.gz");
+
+        try (FileOutputSink sink = sink(file, OutputFormat.CBOR, true)) {
+            delta.writeTo(sink);
+        }
+
+        assertThat(new OutputFileReader(OutputFormat.CBOR, objectMapper).readAll(file, EventDelta.class))
+                .containsExactly(delta);
+    }
+
+    private void write(Path file, OutputFormat format, boolean gzip, List<LeonbetsPrinter> printers) {
+        try (FileOutputSink sink = sink(file, format, gzip)) {
+            printers.forEach(printer -> printer.writeTo(sink));
+        }
+    }
+
+    private FileOutputSink sink(Path file, OutputFormat format, boolean gzip) {
+        return format.isStructured()
+                ? new StructuredFileOutputSink(file, format, gzip, objectMapper, metrics, 16, Duration.ofMillis(10), 64)
+                : new FileOutputSink(file, gzip, metrics, 16, Duration.ofMillis(10), 64);
+    }
+
+    private static List<LeonbetsPrinter> printers(int count) {
+        List<LeonbetsPrinter> printers = new ArrayList<>();
+        for (int e = 0; e < count; e++) {
+            List<Market> markets = new ArrayList<>();
+            for (int m = 0; m < 6; m++) {
+                markets.add(new Market((long) m, "Market " + m, true, List.of(
+                        new Runner(e * 100L + m * 10, "1", true, "1." + (10 + e % 80)),
+                        new Runner(e * 100L + m * 10 + 1, "X", true, "3." + (20 + m)),
+                        new Runner(e * 100L + m * 10 + 2, "2", true, (2 + m) + ".05"))));
+            }
+            printers.add(new LeonbetsPrinter("Football", "England", "Premier League",
+                    new Event(1970324845261000L + e, "Home " + e + " - Away " + e, 1_700_000_000_000L + e * 60_000L),
+                    new MarketEnvelope(markets)));
+        }
+        return printers;
+    }
+}
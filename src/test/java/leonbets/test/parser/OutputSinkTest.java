@@ -0,0 +1,92 @@
+package leonbets.test.parser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leonbets.test.parser.metrics.ParserMetrics;
+import leonbets.test.parser.output.FileOutputSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class OutputSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void flush_returnsWhileOtherProducersKeepWriting() throws Exception {
+        Path file = directory.resolve("flush.txt");
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong written = new AtomicLong();
+        try (FileOutputSink sink = sink(file)) {
+            Thread producer = Thread.ofVirtual().start(() -> {
+                while (running.get()) {
+                    sink.write("record " + written.get() + System.lineSeparator());
+                    written.incrementAndGet();
+                }
+            });
+            try {
+                assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                    for (int i = 0; i < 20; i++) {
+                        long before = written.get();
+                        sink.flush();
+                        assertThat(lines(file)).isGreaterThanOrEqualTo(before);
+                    }
+                });
+            } finally {
+                running.set(false);
+                producer.join();
+            }
+        }
+    }
+
+    @Test
+    void close_writesEveryAcceptedRecordFromConcurrentProducers() throws Exception {
+        Path file = directory.resolve("close.txt");
+        FileOutputSink sink = sink(file);
+        AtomicLong accepted = new AtomicLong();
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            producers.add(Thread.ofVirtual().start(() -> {
+                try {
+                    while (true) {
+                        sink.write("record" + System.lineSeparator());
+                        accepted.incrementAndGet();
+                    }
+                } catch (IllegalStateException closed) {
+                    // expected once the sink is closed
+                }
+            }));
+        }
+
+        Thread.sleep(50);
+        sink.close();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertThat(accepted.get()).isPositive();
+        assertThat(lines(file)).isEqualTo(accepted.get());
+        assertThat(sink.pending()).isZero();
+    }
+
+    private static FileOutputSink sink(Path file) {
+        return new FileOutputSink(file, new ParserMetrics(new SimpleMeterRegistry()), 64, Duration.ofMillis(50), 256);
+    }
+
+    private static long lines(Path file) throws IOException {
+        try (var lines = Files.lines(file)) {
+            return lines.count();
+        }
+    }
+}
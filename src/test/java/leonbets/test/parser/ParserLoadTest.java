@@ -0,0 +1,99 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.util.LeonbetsParserReactive;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParserLoadTest {
+
+    private static final UpstreamSimulator.Line SMALL_LINE = new UpstreamSimulator.Line(2, 2, 3, 2, 3, 4, 3, false);
+
+    @Test
+    void parsers_crawlEveryTopEventOfSimulatedLine() {
+        try (LoadHarness harness = new LoadHarness(SMALL_LINE, UpstreamSimulator.Faults.NONE,
+                "--spring.parser.hedge.endpoints=")) {
+            long expectedEvents = (long) SMALL_LINE.topLeagues() * SMALL_LINE.eventsPerLeague();
+
+            LoadHarness.Report blocking = harness.blocking(1);
+            LoadHarness.Report reactive = harness.reactive(1);
+
+            assertThat(blocking.events()).isEqualTo(expectedEvents);
+            assertThat(reactive.events()).isEqualTo(expectedEvents);
+            assertThat(reactive.upstreamRequests()).isEqualTo(1 + SMALL_LINE.topLeagues() + expectedEvents);
+        }
+    }
+
+    @Test
+    void parsers_fetchEachLeagueAndEventOncePerCrawl() {
+        UpstreamSimulator.Line line = new UpstreamSimulator.Line(2, 2, 3, 2, 3, 4, 3, true);
+        try (LoadHarness harness = new LoadHarness(line, UpstreamSimulator.Faults.NONE,
+                "--spring.parser.hedge.endpoints=")) {
+            long uniqueEvents = (long) line.topLeagues() * line.eventsPerLeague();
+            long sharedListings = (long) line.sports() * line.regionsPerSport() * (line.topLeaguesPerRegion() - 1);
+
+            LoadHarness.Report blocking = harness.blocking(1);
+            LoadHarness.Report reactive = harness.reactive(1);
+
+            for (LoadHarness.Report report : List.of(blocking, reactive)) {
+                assertThat(report.events()).isEqualTo(uniqueEvents + sharedListings);
+                assertThat(report.upstreamRequests()).isEqualTo(1 + line.topLeagues() + uniqueEvents);
+            }
+        }
+    }
+
+    @Test
+    void parsers_retryThroughErrorsAndSeePriceChurn() {
+        UpstreamSimulator.Faults faults = new UpstreamSimulator.Faults(1, 0.5, 0.05, 0, 0, 1.0);
+        try (LoadHarness harness = new LoadHarness(SMALL_LINE, faults,
+                "--spring.parser.retry.max.attempts=5", "--spring.parser.retry.budget.min.per.second=1000",
+                "--spring.parser.circuit.min.calls=1000")) {
+            LeonbetsParserReactive parser = harness.bean(LeonbetsParserReactive.class);
+
+            List<String> first = prices(parser);
+            List<String> second = prices(parser);
+
+            assertThat(first).hasSize(SMALL_LINE.topLeagues() * SMALL_LINE.eventsPerLeague());
+            assertThat(second).hasSameSizeAs(first).isNotEqualTo(first);
+            assertThat(harness.simulator().errors()).isPositive();
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "load", matches = "true")
+    void loadReport() {
+        UpstreamSimulator.Line line = new UpstreamSimulator.Line(
+                Integer.getInteger("load.sports", 4), Integer.getInteger("load.regions", 10),
+                Integer.getInteger("load.leagues", 8), Integer.getInteger("load.top.leagues", 2),
+                Integer.getInteger("load.events", 10), Integer.getInteger("load.markets", 40),
+                Integer.getInteger("load.runners", 3), Boolean.getBoolean("load.duplicates"));
+        UpstreamSimulator.Faults faults = new UpstreamSimulator.Faults(
+                Double.parseDouble(System.getProperty("load.latency.ms", "20")),
+                Double.parseDouble(System.getProperty("load.latency.sigma", "0.5")),
+                Double.parseDouble(System.getProperty("load.error.rate", "0.01")),
+                Double.parseDouble(System.getProperty("load.slow.rate", "0.01")),
+                Long.getLong("load.slow.ms", 500),
+                Double.parseDouble(System.getProperty("load.price.churn", "0.1")));
+        int crawls = Integer.getInteger("load.crawls", 5);
+
+        try (LoadHarness harness = new LoadHarness(line, faults)) {
+            harness.blocking(1);
+            harness.reactive(1);
+            System.out.println(line);
+            System.out.println(faults);
+            System.out.println(harness.blocking(crawls).format());
+            System.out.println(harness.reactive(crawls).format());
+        }
+    }
+
+    private static List<String> prices(LeonbetsParserReactive parser) {
+        return parser.parse()
+                .map(LeonbetsPrinter::generateFormattedOutput)
+                .collectSortedList()
+                .block();
+    }
+}
@@ -0,0 +1,40 @@
+package leonbets.test.parser;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leonbets.test.parser.metrics.ParserMetrics;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParserMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ParserMetrics metrics = new ParserMetrics(registry);
+
+    @Test
+    void recordLeague_tagsLeagueIdsUpToPerSportCapThenSharesOther() {
+        for (long league = 1; league <= 60; league++) {
+            metrics.recordLeague("blocking", "Soccer", league, 1_000_000);
+        }
+        metrics.recordLeague("blocking", "Soccer", 1L, 1_000_000);
+        metrics.recordLeague("blocking", "Tennis", 99L, 1_000_000);
+
+        assertThat(registry.find(ParserMetrics.LEAGUE_CRAWL).tag("sport", "Soccer").timers()).hasSize(51);
+        assertThat(registry.get(ParserMetrics.LEAGUE_CRAWL).tag("league", "1").timer().count()).isEqualTo(2);
+        assertThat(registry.get(ParserMetrics.LEAGUE_CRAWL).tag("league", ParserMetrics.OTHER_LEAGUES)
+                .timer().count()).isEqualTo(10);
+        assertThat(registry.get(ParserMetrics.LEAGUE_CRAWL).tag("league", "99").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordFetch_reusesTaggedTimer() {
+        metrics.recordFetch("events", "success", 1_000_000);
+        metrics.recordFetch("events", "success", 2_000_000);
+        metrics.recordFetch("events", "error", 3_000_000);
+
+        Timer success = registry.get(ParserMetrics.FETCH).tag("outcome", "success").timer();
+        assertThat(success.count()).isEqualTo(2);
+        assertThat(registry.find(ParserMetrics.FETCH).timers()).hasSize(2);
+    }
+}
@@ -0,0 +1,59 @@
+package leonbets.test.parser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import leonbets.test.parser.dto.RawEventEnvelope;
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RawEventEnvelopeTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void array_wrapsRawPayloadsIntoValidJson() throws Exception {
+        LeonbetsPrinter first = new LeonbetsPrinter("Football", "England", "Premier \"League\"",
+                new Event(1L, "Arsenal - Chelsea\t", 1700000000000L), null);
+        LeonbetsPrinter second = new LeonbetsPrinter("Tennis", "ATP", "Paris",
+                new Event(2L, "A - B", 1700000360000L), null);
+
+        Flux<DataBuffer> body = RawEventEnvelope.array(Flux.concat(
+                RawEventEnvelope.element(first, true, chunks("{\"markets\":[{\"name\":", "\"Winner\"}]}")),
+                RawEventEnvelope.element(second, false, chunks("{\"markets\":[]}"))));
+
+        JsonNode json = objectMapper.readTree(join(body));
+
+        assertThat(json).hasSize(2);
+        assertThat(json.get(0).get("league").asText()).isEqualTo("Premier \"League\"");
+        assertThat(json.get(0).get("name").asText()).isEqualTo("Arsenal - Chelsea\t");
+        assertThat(json.get(0).get("payload").get("markets").get(0).get("name").asText()).isEqualTo("Winner");
+        assertThat(json.get(1).get("id").asLong()).isEqualTo(2L);
+        assertThat(json.get(1).get("payload").get("markets")).isEmpty();
+    }
+
+    @Test
+    void array_isEmptyJsonArrayWithoutEvents() throws Exception {
+        assertThat(objectMapper.readTree(join(RawEventEnvelope.array(Flux.empty())))).isEmpty();
+    }
+
+    private static Flux<DataBuffer> chunks(String... parts) {
+        return Flux.fromArray(parts)
+                .map(part -> DefaultDataBufferFactory.sharedInstance.wrap(part.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String join(Flux<DataBuffer> body) {
+        DataBuffer joined = DataBufferUtils.join(body).block();
+        String text = joined.toString(StandardCharsets.UTF_8);
+        DataBufferUtils.release(joined);
+        return text;
+    }
+}
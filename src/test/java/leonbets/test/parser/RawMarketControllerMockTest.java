@@ -0,0 +1,77 @@
+package leonbets.test.parser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import leonbets.test.parser.client.LeonbetsClient;
+import leonbets.test.parser.controller.RawMarketController;
+import leonbets.test.parser.entity.Event;
+import leonbets.test.parser.util.LeonbetsParserReactive;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import leonbets.test.parser.util.ParseFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(RawMarketController.class)
+@Import(RawMarketControllerMockTest.MockConfig.class)
+class RawMarketControllerMockTest {
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        public LeonbetsParserReactive parser() {
+            LeonbetsParserReactive mock = mock(LeonbetsParserReactive.class);
+            when(mock.events(any(ParseFilter.class))).thenAnswer(invocation -> Flux.just(
+                    new LeonbetsPrinter("Football", "England", "Premier League",
+                            new Event(1L, "A - B", 1_700_000_000_000L), null),
+                    new LeonbetsPrinter("Football", "England", "Premier League",
+                            new Event(2L, "C - D", 1_700_000_000_000L), null)));
+            return mock;
+        }
+
+        @Bean
+        public LeonbetsClient client() {
+            LeonbetsClient mock = mock(LeonbetsClient.class);
+            when(mock.streamMarkets(1L)).thenAnswer(invocation -> Mono.just(Flux.<DataBuffer>empty()));
+            when(mock.streamMarkets(2L)).thenAnswer(invocation -> Mono.just(Flux.just(
+                    DefaultDataBufferFactory.sharedInstance.wrap("{\"markets\":[]}".getBytes(StandardCharsets.UTF_8)))));
+            return mock;
+        }
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void streamRawMarkets_writesNullPayloadForEmptyUpstreamBody() throws Exception {
+        String body = webTestClient.get()
+                .uri("/api/raw/markets")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        JsonNode json = new ObjectMapper().readTree(body);
+
+        assertThat(json).hasSize(2);
+        assertThat(json.get(0).get("id").asLong()).isEqualTo(1L);
+        assertThat(json.get(0).get("payload").isNull()).isTrue();
+        assertThat(json.get(1).get("payload").get("markets")).isEmpty();
+    }
+}
@@ -0,0 +1,95 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.schedule.PriorityRefreshScheduler;
+import leonbets.test.parser.schedule.RefreshPolicy;
+import leonbets.test.parser.schedule.ScheduleStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshScheduleTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private final RefreshPolicy policy = new RefreshPolicy(3_000, 300_000, 24 * HOUR, 2.0, 0.75);
+
+    @Test
+    void policy_refreshesNearKickoffAndVolatileEventsFaster() {
+        long live = policy.intervalMillis(NOW - HOUR, true, 0, NOW);
+        long soon = policy.intervalMillis(NOW + HOUR, true, 0, NOW);
+        long farFuture = policy.intervalMillis(NOW + 7 * 24 * HOUR, true, 0, NOW);
+
+        assertThat(live).isEqualTo(3_000);
+        assertThat(soon).isBetween(live, farFuture);
+        assertThat(farFuture).isEqualTo(300_000);
+        assertThat(policy.intervalMillis(NOW + 12 * HOUR, true, 1.0, NOW))
+                .isLessThan(policy.intervalMillis(NOW + 12 * HOUR, true, 0, NOW));
+    }
+
+    @Test
+    void policy_slowsDownNonTopLeaguesWithinBounds() {
+        long top = policy.intervalMillis(NOW + 6 * HOUR, true, 0, NOW);
+        long nonTop = policy.intervalMillis(NOW + 6 * HOUR, false, 0, NOW);
+
+        assertThat(nonTop).isEqualTo(2 * top);
+        assertThat(policy.intervalMillis(NOW + 20 * HOUR, false, 0, NOW)).isEqualTo(300_000);
+        assertThat(policy.intervalMillis(null, true, 0, NOW)).isEqualTo(300_000);
+        assertThatThrownBy(() -> new RefreshPolicy(0, 1, 1, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void scheduler_refreshesWithinBudgetSharedWithDiscoveryAndRetiresDelistedEvents() throws Exception {
+        UpstreamSimulator.Line line = new UpstreamSimulator.Line(2, 2, 3, 2, 3, 4, 3, false);
+        int events = line.topLeagues() * line.eventsPerLeague();
+        double budgetPerSecond = 20;
+        int burst = 5;
+        try (LoadHarness harness = new LoadHarness(line, UpstreamSimulator.Faults.NONE,
+                "--spring.parser.hedge.endpoints=",
+                "--spring.parser.output.type=file",
+                "--spring.parser.output.file=target/refresh-schedule-test.txt",
+                "--spring.parser.schedule.budget.per.second=" + budgetPerSecond,
+                "--spring.parser.schedule.budget.burst=" + burst,
+                "--spring.parser.schedule.discovery.interval.seconds=1",
+                "--spring.parser.schedule.interval.min.seconds=1",
+                "--spring.parser.schedule.interval.max.seconds=1",
+                "--spring.parser.poll.evict.cycles=1")) {
+            PriorityRefreshScheduler scheduler = harness.bean(PriorityRefreshScheduler.class);
+            long requestsBefore = harness.simulator().requests();
+            long startedAt = System.nanoTime();
+
+            scheduler.start();
+            await(() -> scheduler.stats().refreshes() >= 2L * events);
+            long requests = harness.simulator().requests() - requestsBefore;
+            double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+            ScheduleStats running = scheduler.stats();
+
+            assertThat(running.running()).isTrue();
+            assertThat(running.tracked()).isEqualTo(events);
+            assertThat(running.failedRefreshes()).isZero();
+            assertThat(running.discoveryRounds()).isPositive();
+            assertThat(running.budgetWaitMillis()).isPositive();
+            assertThat(requests).isGreaterThan(running.refreshes())
+                    .isLessThanOrEqualTo((long) Math.ceil(burst + budgetPerSecond * elapsedSeconds) + 1);
+
+            harness.simulator().listEvents(1);
+            await(() -> scheduler.stats().tracked() == line.topLeagues());
+
+            long refreshed = scheduler.stats().refreshes();
+            await(() -> scheduler.stats().refreshes() >= refreshed + 2L * line.topLeagues());
+            assertThat(scheduler.stats().tracked()).isEqualTo(line.topLeagues());
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 20 s").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
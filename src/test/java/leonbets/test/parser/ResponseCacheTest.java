@@ -0,0 +1,176 @@
+package leonbets.test.parser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leonbets.test.parser.client.AdaptiveConcurrencyLimiter;
+import leonbets.test.parser.client.CachedResponse;
+import leonbets.test.parser.client.CircuitPolicy;
+import leonbets.test.parser.client.CpuStage;
+import leonbets.test.parser.client.HedgePolicy;
+import leonbets.test.parser.client.LeonbetsClient;
+import leonbets.test.parser.client.MarketEnvelopeDecoder;
+import leonbets.test.parser.client.ResponseCache;
+import leonbets.test.parser.client.RetryBudget;
+import leonbets.test.parser.client.RetryPolicy;
+import leonbets.test.parser.client.UpstreamResilience;
+import leonbets.test.parser.config.JacksonConfig;
+import leonbets.test.parser.entity.EventEnvelope;
+import leonbets.test.parser.metrics.ParserMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ResponseCacheTest {
+
+    @Test
+    void get_servesHitsUntilTtlExpiresThenReloadsWithStaleEntry() {
+        ResponseCache<String> fresh = new ResponseCache<>("fresh", Duration.ofMinutes(1), 10);
+        ResponseCache<String> expired = new ResponseCache<>("expired", Duration.ZERO, 10);
+        List<CachedResponse<String>> staleSeen = new ArrayList<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            fresh.get("a", stale -> Mono.just(response("v" + loads.incrementAndGet()))).block();
+        }
+        String first = expired.get("a", stale -> Mono.just(response("first"))).block();
+        String second = expired.get("a", stale -> {
+            staleSeen.add(stale);
+            return Mono.just(response("second"));
+        }).block();
+
+        assertThat(loads).hasValue(1);
+        assertThat(fresh.stats().hits()).isEqualTo(1);
+        assertThat(first).isEqualTo("first");
+        assertThat(second).isEqualTo("second");
+        assertThat(staleSeen).extracting(CachedResponse::value).containsExactly("first");
+        assertThat(expired.stats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedEntry() {
+        ResponseCache<String> cache = new ResponseCache<>("lru", Duration.ofMinutes(1), 2);
+        AtomicInteger loads = new AtomicInteger();
+
+        load(cache, "a", loads);
+        load(cache, "b", loads);
+        load(cache, "a", loads);
+        load(cache, "c", loads);
+        load(cache, "a", loads);
+        load(cache, "b", loads);
+
+        assertThat(loads).hasValue(4);
+        assertThat(cache.stats().evictions()).isEqualTo(2);
+        assertThat(cache.stats().size()).isEqualTo(2);
+    }
+
+    @Test
+    void get_collapsesConcurrentIdenticalRequestsIntoOneLoad() {
+        ResponseCache<String> cache = new ResponseCache<>("collapse", Duration.ofMinutes(1), 10);
+        Sinks.One<CachedResponse<String>> upstream = Sinks.one();
+        AtomicInteger loads = new AtomicInteger();
+
+        var first = cache.get("a", stale -> upstream.asMono().doOnSubscribe(s -> loads.incrementAndGet())).toFuture();
+        var second = cache.get("a", stale -> upstream.asMono().doOnSubscribe(s -> loads.incrementAndGet())).toFuture();
+        upstream.tryEmitValue(response("shared"));
+
+        assertThat(first.join()).isEqualTo("shared");
+        assertThat(second.join()).isEqualTo("shared");
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().collapsed()).isEqualTo(1);
+    }
+
+    @Test
+    void get_dropsFailedInFlightLoadSoNextCallRetries() {
+        ResponseCache<String> cache = new ResponseCache<>("failure", Duration.ofMinutes(1), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThatThrownBy(() -> cache.get("a", stale -> {
+            loads.incrementAndGet();
+            return Mono.error(new IllegalStateException("upstream down"));
+        }).block()).hasMessage("upstream down");
+        String retried = cache.get("a", stale -> {
+            loads.incrementAndGet();
+            return Mono.just(response("recovered"));
+        }).block();
+
+        assertThat(retried).isEqualTo("recovered");
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().size()).isEqualTo(1);
+    }
+
+    @Test
+    void fetchEvents_sendsValidatorsAndReturnsStaleValueOnNotModified() {
+        List<ClientRequest> requests = new ArrayList<>();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    if (requests.size() > 1) {
+                        return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+                    }
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .header(HttpHeaders.ETAG, "\"v1\"")
+                            .header(HttpHeaders.LAST_MODIFIED, "Wed, 21 Oct 2026 07:28:00 GMT")
+                            .body("{\"events\":[{\"id\":7,\"name\":\"A - B\",\"kickoff\":1}]}")
+                            .build());
+                })
+                .build();
+        LeonbetsClient client = client(webClient);
+
+        EventEnvelope first = client.fetchEvents(1L).block();
+        EventEnvelope revalidated = client.fetchEvents(1L).block();
+
+        assertThat(requests).hasSize(2);
+        HttpHeaders sent = requests.get(1).headers();
+        assertThat(sent.getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(sent.getFirst(HttpHeaders.IF_MODIFIED_SINCE)).isEqualTo("Wed, 21 Oct 2026 07:28:00 GMT");
+        assertThat(revalidated).isSameAs(first);
+        assertThat(client.cacheStats()).filteredOn(stats -> stats.name().equals("events"))
+                .singleElement()
+                .satisfies(stats -> assertThat(stats.revalidated()).isEqualTo(1));
+    }
+
+    private static void load(ResponseCache<String> cache, String key, AtomicInteger loads) {
+        cache.get(key, stale -> {
+            loads.incrementAndGet();
+            return Mono.just(response(key));
+        }).block();
+    }
+
+    private static CachedResponse<String> response(String value) {
+        return new CachedResponse<>(value, null, null);
+    }
+
+    private static LeonbetsClient client(WebClient webClient) {
+        ParserMetrics metrics = new ParserMetrics(new SimpleMeterRegistry());
+        UpstreamResilience resilience = new UpstreamResilience(
+                new RetryPolicy(1, Duration.ofMillis(1), Duration.ofMillis(5), 0.5, new RetryBudget(1.0, 100)),
+                new CircuitPolicy(4, 4, 0.5, Duration.ofSeconds(30), 1),
+                new HedgePolicy(Set.of(), 0.95, Duration.ofMillis(10), 5, new RetryBudget(1.0, 100)));
+        LeonbetsClient client = new LeonbetsClient(webClient, mock(MarketEnvelopeDecoder.class),
+                new AdaptiveConcurrencyLimiter(4, 1, 8, 2.0, 0.5, 100), resilience,
+                new JacksonConfig().objectMapper(), metrics, new CpuStage(metrics, 1, 16));
+        ReflectionTestUtils.setField(client, "baseUrl", "http://upstream");
+        ReflectionTestUtils.setField(client, "eventsEndpoint", "/events/%d");
+        ReflectionTestUtils.setField(client, "eventsMaxEntries", 10);
+        ReflectionTestUtils.setField(client, "maxMemoryMb", 1);
+        ReflectionTestUtils.invokeMethod(client, "initCaches");
+        return client;
+    }
+}
@@ -0,0 +1,83 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.entity.Market;
+import leonbets.test.parser.entity.Runner;
+import leonbets.test.parser.selection.NameMatcher;
+import leonbets.test.parser.selection.SelectionIndex;
+import leonbets.test.parser.util.LeonbetsParser;
+import leonbets.test.parser.util.LeonbetsParserReactive;
+import leonbets.test.parser.util.LeonbetsPrinter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SelectionIndexTest {
+
+    @Test
+    void matcher_combinesExactNamesAndPrefixesCaseInsensitively() {
+        NameMatcher matcher = NameMatcher.compile(List.of("Winner", " total* ", "Total", "Handicap (1)"));
+
+        assertThat(matcher.matches("winner")).isTrue();
+        assertThat(matcher.matches("Winner 1st half")).isFalse();
+        assertThat(matcher.matches("Total")).isTrue();
+        assertThat(matcher.matches("TOTAL goals 2.5")).isTrue();
+        assertThat(matcher.matches("Tot")).isFalse();
+        assertThat(matcher.matches("handicap (1)")).isTrue();
+        assertThat(matcher.matches("Handicap")).isFalse();
+        assertThat(matcher.matches(null)).isFalse();
+        assertThat(matcher.patterns()).isEqualTo(4);
+
+        assertThat(NameMatcher.compile(List.of("", " ")).matchesAll()).isTrue();
+        assertThat(NameMatcher.compile(List.of("Winner", "*")).matches("anything")).isTrue();
+    }
+
+    @Test
+    void index_selectsEverythingUntilConfigured() {
+        SelectionIndex empty = new SelectionIndex("", null, " ", null, "");
+        SelectionIndex runnersOnly = new SelectionIndex(null, null, null, null, "Over*,Under*");
+
+        assertThat(empty.isActive()).isFalse();
+        assertThat(empty.selectsLeague("Premier League")).isTrue();
+        assertThat(runnersOnly.isActive()).isTrue();
+        assertThat(runnersOnly.filtersMarkets()).isTrue();
+        assertThat(runnersOnly.selectsMarket("Total")).isTrue();
+        assertThat(runnersOnly.selectsRunner("Over 2.5")).isTrue();
+        assertThat(runnersOnly.selectsRunner("1")).isFalse();
+        assertThat(runnersOnly.stats().skippedRunners()).isEqualTo(1);
+    }
+
+    @Test
+    void parsers_fetchOnlySelectedLeaguesAndKeepOnlySelectedMarkets() {
+        UpstreamSimulator.Line line = new UpstreamSimulator.Line(2, 2, 3, 2, 3, 4, 3, false);
+        try (LoadHarness harness = new LoadHarness(line, UpstreamSimulator.Faults.NONE,
+                "--spring.parser.hedge.endpoints=",
+                "--spring.parser.selection.regions=Region 0",
+                "--spring.parser.selection.leagues=league 0-0-0,League 1-*",
+                "--spring.parser.selection.markets=Market 1,Market 3",
+                "--spring.parser.selection.runners=Runner 0,Runner 2")) {
+            long selectedEvents = 3L * line.eventsPerLeague();
+
+            List<LeonbetsPrinter> blocking = new CopyOnWriteArrayList<>();
+            LoadHarness.Report blockingReport = harness.blocking(1);
+            harness.bean(LeonbetsParser.class).parse(blocking::add);
+            List<LeonbetsPrinter> reactive = harness.bean(LeonbetsParserReactive.class).parse().collectList().block();
+
+            assertThat(blockingReport.upstreamRequests()).isEqualTo(1 + 3 + selectedEvents);
+            for (List<LeonbetsPrinter> printers : List.of(blocking, reactive)) {
+                assertThat(printers).hasSize((int) selectedEvents)
+                        .extracting(LeonbetsPrinter::getLeagueName)
+                        .containsOnly("League 0-0-0", "League 1-0-0", "League 1-0-1");
+                assertThat(printers).allSatisfy(printer -> {
+                    assertThat(printer.getMarketEnvelope().markets())
+                            .extracting(Market::name).containsExactly("Market 1", "Market 3");
+                    assertThat(printer.getMarketEnvelope().markets())
+                            .flatExtracting(Market::runners).extracting(Runner::name)
+                            .containsExactly("Runner 0", "Runner 2", "Runner 0", "Runner 2");
+                });
+            }
+        }
+    }
+}
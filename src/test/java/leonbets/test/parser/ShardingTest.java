@@ -0,0 +1,100 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.shard.ConsistentHashRing;
+import leonbets.test.parser.shard.FileMembership;
+import leonbets.test.parser.shard.Member;
+import leonbets.test.parser.shard.ShardCoordinator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardingTest {
+
+    private static final long[] LEAGUES = LongStream.range(0, 10_000)
+            .map(i -> 1970324836974593L + i * 7)
+            .toArray();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void ring_spreadsLeaguesEvenlyAndMovesOnlyTheJoinersShare() {
+        ConsistentHashRing three = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        ConsistentHashRing four = new ConsistentHashRing(List.of("a", "b", "c", "d"), 64);
+
+        Map<String, Integer> counts = new HashMap<>();
+        int moved = 0;
+        for (long league : LEAGUES) {
+            counts.merge(three.owner(league), 1, Integer::sum);
+            String after = four.owner(league);
+            if (!after.equals(three.owner(league))) {
+                assertThat(after).isEqualTo("d");
+                moved++;
+            }
+        }
+
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(2_500, 4_200));
+        assertThat(moved).isBetween(1_500, 3_500);
+    }
+
+    @Test
+    void coordinators_ownDisjointLeaguesAndRebalanceWhenNodeLeaves() {
+        InMemoryMembership membership = new InMemoryMembership(Duration.ofMinutes(1));
+        ShardCoordinator first = new ShardCoordinator("node-1", "http://node-1", membership, 64);
+        ShardCoordinator second = new ShardCoordinator("node-2", "http://node-2", membership, 64);
+        first.refresh();
+        second.refresh();
+        first.refresh();
+
+        for (long league : LEAGUES) {
+            assertThat(first.owns(league)).isNotEqualTo(second.owns(league));
+        }
+        assertThat(first.peers()).extracting(Member::id).containsExactly("node-2");
+
+        second.leave();
+        first.refresh();
+
+        assertThat(LongStream.of(LEAGUES).allMatch(first::owns)).isTrue();
+        assertThat(first.stats().rebalances()).isEqualTo(2);
+    }
+
+    @Test
+    void fileMembership_listsLiveMembersAndExpiresStaleOnes() {
+        FileMembership membership = new FileMembership(directory, Duration.ofSeconds(30));
+        long now = System.currentTimeMillis();
+
+        membership.heartbeat(new Member("node-b", "http://b:8080", now));
+        membership.heartbeat(new Member("node-a", "http://a:8080", now));
+        membership.heartbeat(new Member("node-c", "http://c:8080", now - 60_000));
+
+        assertThat(membership.members()).extracting(Member::id).containsExactly("node-a", "node-b");
+        assertThat(membership.members().getFirst().url()).isEqualTo("http://a:8080");
+
+        membership.leave("node-a");
+
+        assertThat(new FileMembership(directory, Duration.ofSeconds(30)).members())
+                .extracting(Member::id).containsExactly("node-b");
+    }
+
+    @Test
+    void coordinator_rejectsMembershipOtherThanFile() {
+        ShardCoordinator coordinator = new ShardCoordinator();
+        ReflectionTestUtils.setField(coordinator, "enabled", true);
+        ReflectionTestUtils.setField(coordinator, "advertisedUrl", "http://node-1");
+        ReflectionTestUtils.setField(coordinator, "membershipType", "memory");
+
+        assertThatThrownBy(() -> ReflectionTestUtils.invokeMethod(coordinator, "init"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("memory");
+    }
+}
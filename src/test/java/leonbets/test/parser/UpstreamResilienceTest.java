@@ -0,0 +1,130 @@
+package leonbets.test.parser;
+
+import leonbets.test.parser.client.CircuitBreaker;
+import leonbets.test.parser.client.CircuitOpenException;
+import leonbets.test.parser.client.CircuitPolicy;
+import leonbets.test.parser.client.HedgePolicy;
+import leonbets.test.parser.client.RetryBudget;
+import leonbets.test.parser.client.RetryPolicy;
+import leonbets.test.parser.client.UpstreamResilience;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamResilienceTest {
+
+    @Test
+    void execute_retriesTransientFailures() {
+        UpstreamResilience resilience = resilience(3, 100, Set.of());
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = resilience.execute("events", () -> Mono.defer(() -> attempts.incrementAndGet() < 3
+                ? Mono.error(status(HttpStatus.SERVICE_UNAVAILABLE))
+                : Mono.just("ok"))).block();
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts).hasValue(3);
+        assertThat(resilience.stats("events").retries()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_doesNotRetryClientErrors() {
+        UpstreamResilience resilience = resilience(3, 100, Set.of());
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> resilience.execute("events", () -> Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(status(HttpStatus.NOT_FOUND));
+        })).block()).isInstanceOf(WebClientResponseException.NotFound.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void execute_opensCircuitAfterRepeatedFailures() {
+        UpstreamResilience resilience = resilience(1, 100, Set.of());
+        AtomicInteger attempts = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> resilience.execute("markets", () -> Mono.defer(() -> {
+                attempts.incrementAndGet();
+                return Mono.error(status(HttpStatus.BAD_GATEWAY));
+            })).block()).isInstanceOf(WebClientResponseException.BadGateway.class);
+        }
+
+        assertThatThrownBy(() -> resilience.execute("markets", () -> Mono.just("ok")).block())
+                .isInstanceOf(CircuitOpenException.class);
+        assertThat(attempts).hasValue(4);
+        assertThat(resilience.stats("markets").circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(resilience.stats("markets").rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_hedgesSlowRequestsAfterLatencyQuantile() {
+        UpstreamResilience resilience = resilience(1, 100, Set.of("markets"));
+        for (int i = 0; i < 5; i++) {
+            resilience.execute("markets", () -> Mono.just("warm")).block();
+        }
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = resilience.execute("markets", () -> attempts.incrementAndGet() == 1
+                ? Mono.<String>never()
+                : Mono.just("hedged")).block(Duration.ofSeconds(5));
+
+        assertThat(result).isEqualTo("hedged");
+        assertThat(resilience.stats("markets").hedges()).isEqualTo(1);
+        assertThat(resilience.stats("markets").hedgeWins()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_lateFailureOfPrimaryDoesNotCancelHedge() {
+        UpstreamResilience resilience = resilience(1, 100, Set.of("markets"));
+        for (int i = 0; i < 5; i++) {
+            resilience.execute("markets", () -> Mono.just("warm")).block();
+        }
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = resilience.execute("markets", () -> attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(100)).then(Mono.<String>error(status(HttpStatus.SERVICE_UNAVAILABLE)))
+                : Mono.delay(Duration.ofMillis(300)).thenReturn("hedged")).block(Duration.ofSeconds(5));
+
+        assertThat(result).isEqualTo("hedged");
+        assertThat(resilience.stats("markets").hedgeWins()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_hedgedCallFailsOnlyWhenBothAttemptsFail() {
+        UpstreamResilience resilience = resilience(1, 100, Set.of("markets"));
+        for (int i = 0; i < 5; i++) {
+            resilience.execute("markets", () -> Mono.just("warm")).block();
+        }
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> resilience.execute("markets", () -> {
+            attempts.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(100)).then(Mono.<String>error(status(HttpStatus.BAD_GATEWAY)));
+        }).block(Duration.ofSeconds(5))).isInstanceOf(WebClientResponseException.BadGateway.class);
+        assertThat(attempts).hasValue(2);
+        assertThat(resilience.stats("markets").hedges()).isEqualTo(1);
+    }
+
+    private static UpstreamResilience resilience(int maxAttempts, int budgetPerSecond, Set<String> hedged) {
+        return new UpstreamResilience(
+                new RetryPolicy(maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5), 0.5,
+                        new RetryBudget(0.2, budgetPerSecond)),
+                new CircuitPolicy(4, 4, 0.5, Duration.ofSeconds(30), 1),
+                new HedgePolicy(hedged, 0.95, Duration.ofMillis(10), 5, new RetryBudget(1.0, budgetPerSecond)));
+    }
+
+    private static WebClientResponseException status(HttpStatus status) {
+        return WebClientResponseException.create(status.value(), status.getReasonPhrase(), null, null, null);
+    }
+}
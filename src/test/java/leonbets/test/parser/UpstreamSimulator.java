@@ -0,0 +1,269 @@
+package leonbets.test.parser;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+final class UpstreamSimulator implements AutoCloseable {
+
+    record Line(int sports, int regionsPerSport, int leaguesPerRegion, int topLeaguesPerRegion,
+                int eventsPerLeague, int marketsPerEvent, int runnersPerMarket, boolean duplicateListings) {
+
+        int topLeagues() {
+            return sports * regionsPerSport * Math.min(topLeaguesPerRegion, leaguesPerRegion);
+        }
+
+        int listedEventsPerLeague() {
+            return eventsPerLeague + (duplicateListings ? 1 : 0);
+        }
+
+        String sportNames() {
+            return IntStream.range(0, sports).mapToObj(UpstreamSimulator::sportName).collect(Collectors.joining(","));
+        }
+    }
+
+    /**
+     * Errors and slow responses are spread evenly over the request sequence (a rate of 0.05 fails every 20th
+     * request), so assertions on them do not depend on chance; only latency and price churn are random.
+     */
+    record Faults(double medianLatencyMillis, double latencySigma, double errorRate, double slowRate,
+                  long slowMillis, double priceChurn) {
+
+        static final Faults NONE = new Faults(0, 0, 0, 0, 0, 0);
+    }
+
+    private final Line line;
+    private final Faults faults;
+    private final DisposableServer server;
+    private final Map<Long, int[]> prices = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyLog latencies = new LatencyLog();
+    private final byte[] sports;
+    private volatile int listedEvents;
+
+    UpstreamSimulator(Line line, Faults faults) {
+        this.line = line;
+        this.faults = faults;
+        this.sports = sportsJson().getBytes(StandardCharsets.UTF_8);
+        this.listedEvents = line.eventsPerLeague();
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .get("/api-2/betline/sports", (request, response) -> respond(response, () -> sports))
+                        .get("/api-2/betline/events/all", (request, response) ->
+                                respond(response, () -> eventsJson(param(request, "league_id"))))
+                        .get("/api-2/betline/event/all", (request, response) ->
+                                respond(response, () -> marketsJson(param(request, "eventId")))))
+                .bindNow();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    int recordedLatencies() {
+        return latencies.size();
+    }
+
+    /**
+     * Server-side latency of every request completed after the first {@code from}, from arrival until the
+     * response is sent.
+     */
+    long[] latenciesSince(int from) {
+        return latencies.since(from);
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * Lists only the first {@code perLeague} events of every league from now on, as if the rest were delisted.
+     */
+    void listEvents(int perLeague) {
+        listedEvents = perLeague;
+    }
+
+    static String sportName(int sport) {
+        return "Sport" + sport;
+    }
+
+    private Mono<Void> respond(HttpServerResponse response, Supplier<byte[]> body) {
+        long sequence = requests.incrementAndGet();
+        long startedAt = System.nanoTime();
+        if (hits(faults.errorRate(), sequence)) {
+            errors.increment();
+            return response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send()
+                    .doOnTerminate(() -> latencies.record(System.nanoTime() - startedAt));
+        }
+        Mono<Void> send = Mono.fromCallable(body::get)
+                .flatMap(bytes -> response
+                        .header("Content-Type", "application/json")
+                        .header("Content-Length", String.valueOf(bytes.length))
+                        .send(Mono.just(Unpooled.wrappedBuffer(bytes)))
+                        .then());
+        long delayMillis = delayMillis(sequence);
+        return (delayMillis <= 0 ? send : Mono.delay(Duration.ofMillis(delayMillis)).then(send))
+                .doOnTerminate(() -> latencies.record(System.nanoTime() - startedAt));
+    }
+
+    private static boolean hits(double rate, long sequence) {
+        return rate > 0 && (long) (sequence * rate) > (long) ((sequence - 1) * rate);
+    }
+
+    private long delayMillis(long sequence) {
+        if (hits(faults.slowRate(), sequence)) {
+            return faults.slowMillis();
+        }
+        if (faults.medianLatencyMillis() <= 0) {
+            return 0;
+        }
+        double gaussian = ThreadLocalRandom.current().nextGaussian();
+        return Math.round(faults.medianLatencyMillis() * Math.exp(faults.latencySigma() * gaussian));
+    }
+
+    private static long param(HttpServerRequest request, String name) {
+        List<String> values = new QueryStringDecoder(request.uri()).parameters().get(name);
+        return values == null || values.isEmpty() ? -1 : Long.parseLong(values.getFirst());
+    }
+
+    private static long leagueId(int sport, int region, int league) {
+        return (sport * 1000L + region) * 1000L + league + 1;
+    }
+
+    private String sportsJson() {
+        StringBuilder out = new StringBuilder("[");
+        for (int s = 0; s < line.sports(); s++) {
+            out.append(s == 0 ? "" : ",").append("{\"id\":").append(s + 1)
+                    .append(",\"name\":\"").append(sportName(s)).append("\",\"regions\":[");
+            int regions = line.regionsPerSport() + (line.duplicateListings() ? 1 : 0);
+            for (int r = 0; r < regions; r++) {
+                boolean featured = r == line.regionsPerSport();
+                out.append(r == 0 ? "" : ",").append("{\"id\":").append(r + 1)
+                        .append(",\"name\":\"").append(featured ? "Featured" : "Region " + r)
+                        .append("\",\"leagues\":[");
+                for (int l = 0; l < line.leaguesPerRegion(); l++) {
+                    out.append(l == 0 ? "" : ",").append("{\"id\":").append(leagueId(s, featured ? 0 : r, l))
+                            .append(",\"name\":\"League ").append(s).append('-').append(r).append('-').append(l)
+                            .append("\",\"top\":").append(l < line.topLeaguesPerRegion()).append('}');
+                }
+                out.append("]}");
+            }
+            out.append("]}");
+        }
+        return out.append(']').toString();
+    }
+
+    private byte[] eventsJson(long leagueId) {
+        long now = System.currentTimeMillis();
+        StringBuilder out = new StringBuilder("{\"events\":[");
+        long firstLeagueOfRegion = leagueId - (leagueId - 1) % 1000;
+        if (line.duplicateListings() && leagueId != firstLeagueOfRegion) {
+            appendEvent(out, firstLeagueOfRegion * 1000, 0, now).append(',');
+        }
+        int events = listedEvents;
+        for (int e = 0; e < events; e++) {
+            appendEvent(out, leagueId * 1000 + e, e, now).append(e + 1 < events ? "," : "");
+        }
+        return out.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static StringBuilder appendEvent(StringBuilder out, long eventId, int number, long now) {
+        return out.append("{\"id\":").append(eventId)
+                .append(",\"name\":\"Home ").append(number).append(" - Away ").append(number)
+                .append("\",\"kickoff\":").append(now + number * 3_600_000L).append('}');
+    }
+
+    private byte[] marketsJson(long eventId) {
+        int[] eventPrices = prices.computeIfAbsent(eventId, id -> initialPrices());
+        StringBuilder out = new StringBuilder(128 + eventPrices.length * 96)
+                .append("{\"id\":").append(eventId).append(",\"markets\":[");
+        synchronized (eventPrices) {
+            churn(eventPrices);
+            for (int m = 0; m < line.marketsPerEvent(); m++) {
+                out.append(m == 0 ? "" : ",").append("{\"id\":").append(m)
+                        .append(",\"name\":\"Market ").append(m).append("\",\"open\":true,\"runners\":[");
+                for (int r = 0; r < line.runnersPerMarket(); r++) {
+                    int price = eventPrices[m * line.runnersPerMarket() + r];
+                    String priceStr = price / 100 + "." + (price % 100 < 10 ? "0" : "") + price % 100;
+                    out.append(r == 0 ? "" : ",").append("{\"id\":").append(eventId * 1000 + m * 10L + r)
+                            .append(",\"name\":\"Runner ").append(r).append("\",\"open\":true,\"price\":")
+                            .append(priceStr).append(",\"priceStr\":\"").append(priceStr).append("\"}");
+                }
+                out.append("]}");
+            }
+        }
+        return out.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int[] initialPrices() {
+        int[] initial = new int[line.marketsPerEvent() * line.runnersPerMarket()];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < initial.length; i++) {
+            initial[i] = 101 + random.nextInt(1400);
+        }
+        return initial;
+    }
+
+    private void churn(int[] eventPrices) {
+        if (faults.priceChurn() <= 0) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < eventPrices.length; i++) {
+            if (random.nextDouble() < faults.priceChurn()) {
+                eventPrices[i] = Math.max(101, eventPrices[i] + (random.nextBoolean() ? 1 : -1) * (1 + random.nextInt(10)));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private static final class LatencyLog {
+
+        private long[] nanos = new long[1024];
+        private int size;
+
+        synchronized void record(long latency) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long[] since(int from) {
+            return Arrays.copyOfRange(nanos, Math.min(from, size), size);
+        }
+    }
+}